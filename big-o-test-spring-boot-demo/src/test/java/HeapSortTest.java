@@ -32,16 +32,10 @@ public class HeapSortTest {
 
     @Test
     public void assertLogLinear_RunHeapSort_DetectLogLinear() {
-        // given
-        final BigOAnalyser boa = new BigOAnalyser();
-        final HeapSort sut = (HeapSort) boa.createProxy(HeapSort.class);
-
-        // when
-        for (int x = (128 * 1024); x >= 256; x /= 2) {
-            List<Long> sortInput = createSortInput(x);
-            log.info("Sort input size " + sortInput.size());
-            sut.sort(sortInput);
-        }
+        // when - the input sizes are chosen within a time budget of 5 seconds
+        final BigOAnalyser boa = BigOAnalyser.classUnderTest(HeapSort.class)
+                .execute(HeapSortTest::createSortInput, HeapSort::sort, 5_000_000_000L)
+                .getBigOAnalyser();
         log.info("Print trace report");
         traceReport(boa, "sort");
 
@@ -32,19 +32,26 @@
 package sw_engineering_candies.assertBigO;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableTable;
 import com.google.common.collect.Range;
 import com.google.common.collect.Table;
 import com.google.common.collect.Tables;
 import com.google.common.collect.TreeBasedTable;
 import javassist.util.proxy.MethodHandler;
-import sw_engineering_candies.assertBigO.interfaces.BigOParameter;
+import org.apache.commons.math3.distribution.TDistribution;
+import sw_engineering_candies.assertBigO.interfaces.BigODriftListener;
 import sw_engineering_candies.assertBigO.math.*;
 
-import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.Type;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * This class measures the Big-O time efficiency with a proxy of the system under test.
@@ -52,21 +59,129 @@ import java.util.*;
 public class BigOAnalyser {
 
     /**
-     * Measurement interval in nanoseconds
+     * Default minimal and maximal measurement interval in nanoseconds
      */
-    private static final long MINIMAL_MEASUREMENT_INTERVAL = 100 * 1000 * 1000L;
+    private static final long DEFAULT_MINIMAL_MEASUREMENT_INTERVAL = 20 * 1000 * 1000L;
+    private static final long DEFAULT_MAXIMAL_MEASUREMENT_INTERVAL = 100 * 1000 * 1000L;
 
     /**
-     * Stores all measured results in <b>Item</b> objects. The <b>keys</b> of the hash map follow the
-     * convention: <i>[method name]#[first size]#[second size]...#[last size]</i>
+     * Default target of the relative standard error of the time per call
      */
-    private final Map<String, BigODataPoint> values = new HashMap<>(1000);
+    private static final double DEFAULT_TARGET_RELATIVE_STANDARD_ERROR = 0.01;
+
+    /**
+     * Default confidence level of the sequential tests
+     */
+    private static final double DEFAULT_CONFIDENCE_LEVEL = 0.95;
+
+    /**
+     * Maximal number of memoised fit results, the key of a result is the content of the fitted table
+     */
+    private static final int MAXIMAL_NUMBER_OF_CACHED_FITS = 256;
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private static final BigOFitCache<List<Object>, Double> DEGREES =
+            new BigOFitCache<>(MAXIMAL_NUMBER_OF_CACHED_FITS);
+
+    private static final BigOFitCache<Table<Integer, String, Double>, BigOFittingResults> FITTING_RESULTS =
+            new BigOFitCache<>(MAXIMAL_NUMBER_OF_CACHED_FITS);
+
+    /**
+     * Stores all measured results in <b>Item</b> objects with an index per method name. The
+     * <b>keys</b> are the method and the sizes of the parameters (see BigOMeasurementKey). The maps
+     * and the data points can be updated concurrently, in the case the proxy is shared by several
+     * threads.
+     */
+    private final Map<String, BigOMeasurementIndex> values = new ConcurrentHashMap<>();
+
+    /**
+     * Stores the sampled calls of the production mode for each method name
+     */
+    private final Map<String, BigOSizeBuckets> samples = new ConcurrentHashMap<>();
+
+    /**
+     * Caches the invoker of the original implementation for each proxied method
+     */
+    private final Map<Method, BigOMethodInvoker> invokers = new ConcurrentHashMap<>();
+
+    /**
+     * Size-extraction plan per proxied method, created at the first call of the method
+     */
+    private final Map<Method, BigOParameterPlan> plans = new ConcurrentHashMap<>();
 
     /**
      * This flag is used to deactivate measurement during execution. This is needed, because the
      * first results are usually not representative.
      */
-    private boolean active = true;
+    private volatile boolean active = true;
+
+    /**
+     * Parameters of the adaptive stopping rule of each measurement
+     */
+    private volatile long minimalMeasurementInterval = DEFAULT_MINIMAL_MEASUREMENT_INTERVAL;
+    private volatile long maximalMeasurementInterval = DEFAULT_MAXIMAL_MEASUREMENT_INTERVAL;
+    private volatile double targetRelativeStandardError = DEFAULT_TARGET_RELATIVE_STANDARD_ERROR;
+
+    /**
+     * The calls of the probe thread are measured with the probe interval, see startProbes
+     */
+    private volatile Thread probeThread = null;
+    private volatile long probeInterval = 0L;
+
+    /**
+     * Limits the time of all measurements, unlimited if not set
+     */
+    private volatile BigOTimeBudget timeBudget = BigOTimeBudget.UNLIMITED;
+
+    /**
+     * Sequential tests of the polynomial degree per method id
+     */
+    private final Map<String, BigOSequentialTest> sequentialTests = new ConcurrentHashMap<>();
+
+    /**
+     * Treatment of the batches of calls which overlap a garbage collection
+     */
+    private volatile BigOGcPolicy gcPolicy = BigOGcPolicy.IGNORE;
+
+    /**
+     * Wall-clock time, CPU time of the measuring thread or both
+     */
+    private volatile BigOTimeSource timeSource = BigOTimeSource.WALL;
+
+    /**
+     * Measure the bytes allocated per call in the column ALLOC
+     */
+    private volatile boolean allocationMeasured = false;
+
+    /**
+     * Measure the retained heap of the returned object or of a field of the system under test
+     */
+    private volatile boolean heapMeasured = false;
+
+    private volatile String heapFieldName = null;
+
+    /**
+     * Observes the JIT compiler during the measurement of BigOResult.execute, null if not needed
+     */
+    private volatile BigOCompilationMonitor compilationMonitor = null;
+
+    /**
+     * Sum of the time and the calls of all measurements, also while the measurement is deactivated,
+     * e.g. for the time per call of the probes of BigOSizeScheduler
+     */
+    private final LongAdder totalTime = new LongAdder();
+    private final LongAdder totalCalls = new LongAdder();
+
+    /**
+     * In the production mode one of samplingRate calls is measured, zero means measurement mode
+     */
+    private volatile int samplingRate = 0;
+
+    /**
+     * Fits the samples of the production mode in the background, null if not started
+     */
+    private volatile BigOStreamingFitter streamingFitter = null;
 
     /**
      * Creates a BigOResult object for a certain class. This is needed to use a Lambda expression
@@ -90,70 +205,243 @@ public class BigOAnalyser {
         return new BigOResult(clazzUnderTest, new BigOAnalyser());
     }
 
+    /**
+     * Creates a BigOResult object for a certain class with an already configured analyser.
+     */
+    public static BigOResult classUnderTest(Class<?> clazzUnderTest, BigOAnalyser boa) {
+        return new BigOResult(clazzUnderTest, boa);
+    }
+
     public static Double estimatePolynomialDegree(Table<Integer, String, Double> data) {
+        return estimatePolynomialDegree(data, "TIME");
+    }
+
+    /**
+     * Estimates the polynomial degree of another measured column than TIME, e.g. the latency
+     * percentile P99 of getLatencyData.
+     */
+    public static Double estimatePolynomialDegree(Table<Integer, String, Double> data, String column) {
+        Preconditions.checkArgument(data.containsColumn(column), "expect a column " + column + " with data");
+
+        // coefficient of the linear term a1 it what we need
+        return DEGREES.get(List.of(column, ImmutableTable.copyOf(data)),
+                () -> fitPolynomialDegree(data, column).getCoefficient(1));
+    }
+
+    /**
+     * Estimates the polynomial degree of each parameter N1, ..., Nk with the model TIME = c * N1^a1 *
+     * ... * Nk^ak, i.e. the result is {a1, ..., ak}. The sizes of the parameters have to be varied
+     * independently, e.g. on a grid, otherwise the exponents can't be separated.
+     */
+    public static double[] estimatePolynomialDegrees(Table<Integer, String, Double> data) {
+        return fitPolynomialDegrees(data, false).getExponents();
+    }
+
+    /**
+     * Fits the model TIME = c * N1^a1 * ... * Nk^ak, optionally with log factors log(Ni)^bi, with a
+     * multiple linear regression of the logarithms
+     */
+    public static FitterMultivariatePowerLaw fitPolynomialDegrees(Table<Integer, String, Double> data,
+                                                                  boolean isLogFactorNeeded) {
+        Preconditions.checkArgument(data.containsColumn("N1"), "expect a column N1 with data");
+        Preconditions.checkArgument(data.containsColumn("TIME"), "expect a column TIME with data");
+
+        int numberOfParameters = 1;
+        while (data.containsColumn("N" + (numberOfParameters + 1))) {
+            numberOfParameters++;
+        }
+        final double[][] xValues = new double[data.rowKeySet().size()][numberOfParameters];
+        final double[] yValues = new double[xValues.length];
+        int point = 0;
+        for (final Integer row : data.rowKeySet()) {
+            for (int i = 0; i < numberOfParameters; i++) {
+                xValues[point][i] = data.get(row, "N" + (i + 1));
+            }
+            yValues[point] = data.get(row, "TIME");
+            point++;
+        }
+
+        final FitterMultivariatePowerLaw fitter = new FitterMultivariatePowerLaw();
+        fitter.init(xValues, yValues, isLogFactorNeeded);
+        return fitter;
+    }
+
+    /**
+     * Estimates the confidence interval of the polynomial degree, i.e. of the slope of the straight
+     * line fitted to the logarithms of both axis, with the t-distribution of the residuals
+     */
+    public static Range<Double> estimatePolynomialDegreeInterval(Table<Integer, String, Double> data,
+                                                                 double confidenceLevel) {
+        Preconditions.checkArgument(data.column("TIME").size() >= 3, "need minimum 3 data points");
+        Preconditions.checkArgument(0.0 < confidenceLevel && confidenceLevel < 1.0,
+                "confidence level must be between 0 and 1");
+
         // calculate logarithms of both axis
-        final Map<Integer, Double> xValues = new TreeMap<>();
-        final Map<Integer, Double> yValues = new TreeMap<>();
-        for (int index = 1; index <= data.column("N1").size(); index++) {
-            xValues.put(index, Math.log10(data.column("N1").get(index)));
-            yValues.put(index, Math.log10(data.column("TIME").get(index)));
+        final double[][] logarithms = toLogarithms(data, "TIME");
+        final double[] xValues = logarithms[0];
+        final double[] yValues = logarithms[1];
+        final FitterPolynomial fitter = new FitterPolynomial();
+        fitter.init(xValues, yValues, 1);
+
+        // standard error of the slope
+        final double meanX = Arrays.stream(xValues).average().orElse(0.0);
+        double sumOfSquaredResiduals = 0.0;
+        double sumOfSquaredDeviations = 0.0;
+        for (int index = 0; index < xValues.length; index++) {
+            sumOfSquaredResiduals += Math.pow(yValues[index] - fitter.calculate(xValues[index]), 2);
+            sumOfSquaredDeviations += Math.pow(xValues[index] - meanX, 2);
+        }
+        final int degreesOfFreedom = xValues.length - 2;
+        final double standardError = Math.sqrt(sumOfSquaredResiduals / degreesOfFreedom / sumOfSquaredDeviations);
+
+        final double quantile = new TDistribution(degreesOfFreedom).inverseCumulativeProbability(0.5 + confidenceLevel / 2);
+        final double degree = fitter.getCoefficient(1);
+        return Range.closed(degree - quantile * standardError, degree + quantile * standardError);
+    }
+
+    /**
+     * Estimates the polynomial degree of a method with its bootstrap confidence interval, i.e. the
+     * single-call latencies of each size are resampled (see BigOBootstrap). Other than
+     * estimatePolynomialDegree there is no check of the quality of the fit, because noisy data just
+     * give a wider interval.
+     */
+    public BigODegreeEstimate estimatePolynomialDegreeWithConfidence(String method, double confidenceLevel) {
+        final Table<Integer, String, Double> data = getData(method);
+        Preconditions.checkArgument(data.containsColumn("TIME"), "expect a column TIME with data");
+        final double[][] logarithms = toLogarithms(data, "TIME");
+        return BigOBootstrap.estimate(logarithms[0], logarithms[1], getLatencies(method, data.rowKeySet().size()),
+                confidenceLevel, BigOBootstrap.DEFAULT_NUMBER_OF_RESAMPLES);
+    }
+
+    /**
+     * Get the single-call latencies in the order of the rows of getData. The rows of the production
+     * mode have no single-call latencies, so they get an empty histogram.
+     */
+    private List<BigOLatencyHistogram> getLatencies(String method, int numberOfRows) {
+        final List<BigOLatencyHistogram> result = new ArrayList<>(numberOfRows);
+        final BigOMeasurementIndex index = values.get(resolveMethod(method));
+        if (index != null) {
+            for (final BigOMeasurementKey key : index.getKeys()) {
+                final BigODataPoint point = index.get(key);
+                if (point.getCalls() > 0) {
+                    result.add(point.getHistogram());
+                }
+            }
+        }
+        while (result.size() < numberOfRows) {
+            result.add(new BigOLatencyHistogram());
+        }
+        return result;
+    }
+
+    /**
+     * Get the logarithms of the sizes N1 and of the column in the order of the rows
+     */
+    private static double[][] toLogarithms(Table<Integer, String, Double> data, String column) {
+        final Map<Integer, Double> sizes = data.column("N1");
+        final Map<Integer, Double> values = data.column(column);
+        final double[][] result = new double[2][sizes.size()];
+        for (int index = 0; index < sizes.size(); index++) {
+            result[0][index] = Math.log10(sizes.get(index + 1));
+            result[1][index] = Math.log10(values.get(index + 1));
         }
+        return result;
+    }
+
+    /**
+     * Fits a straight line to the logarithms of both axis, i.e. a0 is the logarithm of the leading
+     * coefficient and a1 the polynomial degree.
+     */
+    static FitterPolynomial fitPolynomialDegree(Table<Integer, String, Double> data, String column) {
+        Preconditions.checkArgument(data.containsColumn(column), "expect a column " + column + " with data");
+
+        // calculate logarithms of both axis
+        final double[][] logarithms = toLogarithms(data, column);
+        final double[] xValues = logarithms[0];
+        final double[] yValues = logarithms[1];
 
         // fit polynomial of first degree (a0 + a1 * x)
         final FitterPolynomial fitter = new FitterPolynomial();
         fitter.init(xValues, yValues, 1);
 
-        // coefficient of the linear term a1 it what we need
-        final double result = fitter.getCoefficient(1);
-
         // check the quality of the fit in cases the function is not constant
-        if (result > 0.8) {
+        if (fitter.getCoefficient(1) > 0.8) {
             final double coefficientOfDetermination = fitter.getRSquareAdjusted();
             Preconditions.checkState(coefficientOfDetermination > 0.8, "R^2=" + coefficientOfDetermination);
         }
-        return result;
+        return fitter;
     }
 
     /**
      * Helper function to find the best fitting function. The approach is based on the estimation of
-     * the polynomial degree of the measured data.
+     * the polynomial degree of the measured data. The candidate functions are fitted concurrently in
+     * the common fork-join pool and merged in a fixed order, so the result does not depend on the
+     * scheduling.
      */
     protected static BigOFittingResults calculateBestFittingFunctions(final Table<Integer, String, Double> input) {
-
+        // the cached results are shared, so the caller gets a copy
         final BigOFittingResults result = new BigOFittingResults();
+        result.putAll(FITTING_RESULTS.get(ImmutableTable.copyOf(input), () -> fitBestFittingFunctions(input)));
+        return result;
+    }
+
+    private static BigOFittingResults fitBestFittingFunctions(final Table<Integer, String, Double> input) {
 
         final double degree = estimatePolynomialDegree(input);
+        final Map<Integer, Double> xValues = input.column("N1");
+        final Map<Integer, Double> yValues = input.column("TIME");
 
+        final List<ForkJoinTask<FitterBase>> candidates = new ArrayList<>(3);
         if (isProbablyPolynomial(degree)) {
             // fit polynomial Function
-            final FitterPolynomial fitterPolynomial = new FitterPolynomial();
-            fitterPolynomial.init(input.column("N1"), input.column("TIME"), (int) Math.round(degree));
-            result.put(fitterPolynomial.getRSquareAdjusted(), fitterPolynomial.toString());
+            candidates.add(ForkJoinTask.adapt(() -> {
+                final FitterPolynomial fitterPolynomial = new FitterPolynomial();
+                fitterPolynomial.init(xValues, yValues, (int) Math.round(degree));
+                return fitterPolynomial;
+            }));
         } else {
             if (isProbablyLogLinear(degree)) {
                 // LogLinear Function
-                final FitterLogLinear fitterLogLinear = new FitterLogLinear();
-                fitterLogLinear.init(input.column("N1"), input.column("TIME"));
-                result.put(fitterLogLinear.getRSquareAdjusted(), fitterLogLinear.toString());
+                candidates.add(ForkJoinTask.adapt(() -> {
+                    final FitterLogLinear fitterLogLinear = new FitterLogLinear();
+                    fitterLogLinear.init(xValues, yValues);
+                    return fitterLogLinear;
+                }));
             } else {
                 // PowerLaw Function
-                final FitterPowerLaw fitterPowerLaw = new FitterPowerLaw();
-                fitterPowerLaw.init(input.column("N1"), input.column("TIME"));
-                result.put(fitterPowerLaw.getRSquareAdjusted(), fitterPowerLaw.toString());
+                candidates.add(ForkJoinTask.adapt(() -> {
+                    final FitterPowerLaw fitterPowerLaw = new FitterPowerLaw();
+                    fitterPowerLaw.init(xValues, yValues);
+                    return fitterPowerLaw;
+                }));
             }
         }
 
         // ensure that it is not a constant function, because of problems in some fit functions
         if (Math.abs(degree) > 0.1) {
             // Exponential Function
-            final FitterExponential fitterExponential = new FitterExponential();
-            fitterExponential.init(input.column("N1"), input.column("TIME"));
-            result.put(fitterExponential.getRSquareAdjusted(), fitterExponential.toString());
+            candidates.add(ForkJoinTask.adapt(() -> {
+                final FitterExponential fitterExponential = new FitterExponential();
+                fitterExponential.init(xValues, yValues);
+                return fitterExponential;
+            }));
 
             // Logarithmic Function
-            final FitterLogarithmic fitterLogarithmic = new FitterLogarithmic();
-            fitterLogarithmic.init(input.column("N1"), input.column("TIME"));
-            result.put(fitterLogarithmic.getRSquareAdjusted(), fitterLogarithmic.toString());
+            candidates.add(ForkJoinTask.adapt(() -> {
+                final FitterLogarithmic fitterLogarithmic = new FitterLogarithmic();
+                fitterLogarithmic.init(xValues, yValues);
+                return fitterLogarithmic;
+            }));
+        }
+
+        // the first candidate runs in the calling thread, the others are forked
+        ForkJoinTask.invokeAll(candidates);
+
+        // merge in the order of the candidates, the later one wins in case of an equal R^2
+        final BigOFittingResults result = new BigOFittingResults();
+        for (final ForkJoinTask<FitterBase> candidate : candidates) {
+            final FitterBase fitter = candidate.join();
+            result.put(fitter.getRSquareAdjusted(), fitter.toString());
         }
         return result;
     }
@@ -183,6 +471,332 @@ public class BigOAnalyser {
         active = true;
     }
 
+    /**
+     * Limits the time of all following measurements of this analyser (in nanoseconds, zero means no
+     * limit). The wall-clock time starts now, the CPU time is summed over the measuring threads.
+     * After the budget is exhausted the proxied calls are executed once without measurement, i.e.
+     * the remaining sizes are skipped and the asserts report the confidence of the data measured so
+     * far. The production mode is not limited.
+     */
+    public void setTimeBudget(long wallTime, long cpuTime) {
+        setTimeBudget(new BigOTimeBudget(wallTime, cpuTime));
+    }
+
+    void setTimeBudget(BigOTimeBudget budget) {
+        Preconditions.checkNotNull(budget);
+        timeBudget = budget;
+    }
+
+    public boolean isTimeBudgetExhausted() {
+        return timeBudget.isExhausted();
+    }
+
+    /**
+     * Get the number of calls which have not been measured, because the time budget was exhausted
+     */
+    public long getSkippedCalls() {
+        return timeBudget.getSkippedCalls();
+    }
+
+    /**
+     * Starts a sequential test of the polynomial degree of a method (selected by name or, for
+     * overloaded methods, by its signature, see getSelector). After each new size the confidence
+     * interval of the degree is estimated, and as soon as it lies entirely inside or outside of
+     * expected +/- delta the remaining calls of the method are executed once without measurement.
+     * The intervals of all sizes together have the confidence level of 95%.
+     * The verdict is checked with BigOAssert.assertPolynomialDegreeSequentially.
+     */
+    public void startSequentialTest(String method, double expected, double delta) {
+        startSequentialTest(method, expected, delta, DEFAULT_CONFIDENCE_LEVEL);
+    }
+
+    public void startSequentialTest(String method, double expected, double delta, double confidenceLevel) {
+        Preconditions.checkNotNull(method);
+        Preconditions.checkArgument(!method.isEmpty());
+        sequentialTests.put(resolveMethod(method), new BigOSequentialTest(expected, delta, confidenceLevel));
+    }
+
+    /**
+     * Get the sequential test of a method, null if not started
+     */
+    BigOSequentialTest getSequentialTest(String method) {
+        return sequentialTests.get(resolveMethod(method));
+    }
+
+    /**
+     * Get the sequential test of a measured method. A test started before the first call can't be
+     * resolved, so a test with the signature of a method which is not overloaded is moved to the
+     * method id.
+     */
+    private BigOSequentialTest getSequentialTest(BigOParameterPlan plan) {
+        final BigOSequentialTest result = sequentialTests.get(plan.getMethodId());
+        if (result != null || plan.getMethodId().equals(plan.getSignature())) {
+            return result;
+        }
+        final BigOSequentialTest started = sequentialTests.remove(plan.getSignature());
+        if (started == null) {
+            return null;
+        }
+        final BigOSequentialTest existing = sequentialTests.putIfAbsent(plan.getMethodId(), started);
+        return (existing != null) ? existing : started;
+    }
+
+    /**
+     * The measurement is finished if the time budget is exhausted or all sequential tests are
+     * decided, e.g. to stop the size scheduler
+     */
+    boolean isMeasurementFinished() {
+        if (isTimeBudgetExhausted()) {
+            return true;
+        }
+        return !sequentialTests.isEmpty() && sequentialTests.values().stream().allMatch(BigOSequentialTest::isDecided);
+    }
+
+    /**
+     * Sets the treatment of batches of calls which overlap a garbage collection, e.g. to subtract
+     * the GC time or to reject the batch. Except for IGNORE the data tables get a column with the
+     * GC time per call.
+     */
+    public void setGcPolicy(BigOGcPolicy policy) {
+        Preconditions.checkNotNull(policy);
+        gcPolicy = policy;
+    }
+
+    public BigOGcPolicy getGcPolicy() {
+        return gcPolicy;
+    }
+
+    /**
+     * Sets the time source of the measurements. With CPU the column TIME holds the CPU time of the
+     * measuring thread, so the fits are not disturbed by preemption. With BOTH the column TIME holds
+     * the wall-clock time and the additional column CPU the CPU time per call.
+     */
+    public void setTimeSource(BigOTimeSource source) {
+        Preconditions.checkNotNull(source);
+        Preconditions.checkArgument(source == BigOTimeSource.WALL || THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported(),
+                "CPU time is not supported by this JVM");
+        timeSource = source;
+    }
+
+    public BigOTimeSource getTimeSource() {
+        return timeSource;
+    }
+
+    /**
+     * Activates the measurement of the bytes allocated by the measuring thread, so the data tables
+     * get the column ALLOC with the allocated bytes per call, see BigOAssert.assertAllocationLinear
+     */
+    public void setAllocationMeasured(boolean isMeasured) {
+        if (isMeasured) {
+            Preconditions.checkArgument(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean
+                            && ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).isThreadAllocatedMemorySupported(),
+                    "allocation measurement is not supported by this JVM");
+            ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).setThreadAllocatedMemoryEnabled(true);
+        }
+        allocationMeasured = isMeasured;
+    }
+
+    public boolean isAllocationMeasured() {
+        return allocationMeasured;
+    }
+
+    /**
+     * Activates the measurement of the retained heap of the returned object, so the data tables get
+     * the column HEAP with the bytes of all reachable objects. The measurement needs the agent, see
+     * BigOHeapAgent.
+     */
+    public void setHeapMeasured(boolean isMeasured) {
+        Preconditions.checkState(!isMeasured || BigOHeapAgent.isInstalled(), "here we need the agent, see BigOHeapAgent");
+        heapMeasured = isMeasured;
+        heapFieldName = null;
+    }
+
+    /**
+     * Activates the measurement of the retained heap of a field of the system under test, e.g. the
+     * data structure which is built by the measured method
+     */
+    public void setHeapMeasured(String fieldName) {
+        Preconditions.checkNotNull(fieldName);
+        Preconditions.checkArgument(!fieldName.isEmpty());
+        setHeapMeasured(true);
+        heapFieldName = fieldName;
+    }
+
+    public boolean isHeapMeasured() {
+        return heapMeasured;
+    }
+
+    void setCompilationMonitor(BigOCompilationMonitor monitor) {
+        compilationMonitor = monitor;
+    }
+
+    /**
+     * Resets the data point of a measurement, e.g. because it overlaps a deoptimization, so that it
+     * can be measured again. Until then the data point is not part of the data.
+     */
+    void resetMeasurement(BigOMeasurementKey key) {
+        final BigOMeasurementIndex index = values.get(key.getMethod());
+        final BigODataPoint point = (index != null) ? index.get(key) : null;
+        if (point != null) {
+            point.reset();
+        }
+    }
+
+    /**
+     * Sets a fixed measurement interval for the calls of the current thread, e.g. for the probes of
+     * BigOSizeScheduler, without a change of the measurement interval of the other threads
+     */
+    void startProbes(long interval) {
+        Preconditions.checkArgument(0 <= interval, "probe interval must not be negative");
+        probeInterval = interval;
+        probeThread = Thread.currentThread();
+    }
+
+    void stopProbes() {
+        probeThread = null;
+    }
+
+    long getTotalTime() {
+        return totalTime.sum();
+    }
+
+    long getTotalCalls() {
+        return totalCalls.sum();
+    }
+
+    /**
+     * Configures the adaptive stopping rule of the measurement. Each proxied call is repeated for at
+     * least the minimal and at most the maximal interval (in nanoseconds). In between, the
+     * repetition stops as soon as the relative standard error of the time per call falls below the
+     * target, so cheap and quiet calls finish early and noisy calls get more samples.
+     */
+    public void setMeasurementInterval(long minimalInterval, long maximalInterval,
+                                       double targetRelativeError) {
+        Preconditions.checkArgument(0 <= minimalInterval, "minimal interval must not be negative");
+        Preconditions.checkArgument(minimalInterval <= maximalInterval,
+                "minimal interval must not be greater than maximal interval");
+        Preconditions.checkArgument(0.0 < targetRelativeError, "target relative error must be positive");
+
+        minimalMeasurementInterval = minimalInterval;
+        maximalMeasurementInterval = maximalInterval;
+        targetRelativeStandardError = targetRelativeError;
+    }
+
+    /**
+     * Switches to the production mode. Each call of the proxy executes the method exactly once and
+     * one of samplingRate calls (randomly selected) is timed. The samples are collected in buckets
+     * per power of two of the first size (N1), so that the time efficiency of live traffic can be
+     * estimated with a low overhead. The rows of getData are the non-empty buckets with the mean
+     * size and mean time of their samples.
+     */
+    public void setProductionMode(int samplingRate) {
+        Preconditions.checkArgument(0 < samplingRate, "sampling rate must be positive");
+        this.samplingRate = samplingRate;
+    }
+
+    public boolean isProductionMode() {
+        return samplingRate > 0;
+    }
+
+    /**
+     * Starts a daemon thread which fits the samples of the production mode every updateInterval
+     * milliseconds. The threads of the proxy only add their samples to a lock-free ring buffer, the
+     * latest fit of a method is available with getLatestFit.
+     */
+    public synchronized void startStreamingFit(long updateInterval) {
+        startStreamingFit(updateInterval, null);
+    }
+
+    private void startStreamingFit(long updateInterval, BigODriftDetector driftDetector) {
+        Preconditions.checkState(isProductionMode(), "streaming fit needs the production mode");
+        Preconditions.checkState(streamingFitter == null || !streamingFitter.isRunning(),
+                "streaming fit is already started");
+        Preconditions.checkArgument(0 < updateInterval, "update interval must be positive");
+
+        final BigOStreamingFitter fitter = new BigOStreamingFitter(this, samples, updateInterval, driftDetector);
+        fitter.start();
+        streamingFitter = fitter;
+    }
+
+    /**
+     * Starts the streaming fit (see startStreamingFit) with a detection of complexity drift. The
+     * samples of each method are also fitted per time window of windowInterval milliseconds. The
+     * listener is called (in the daemon thread) as soon as the polynomial degree of a window differs
+     * from the reference window by more than degreeThreshold, or the leading coefficient by more
+     * than the relative coefficientThreshold. The first window is the reference, after a reported
+     * drift the drifted window becomes the new reference.
+     */
+    public synchronized void startDriftDetection(long windowInterval, double degreeThreshold,
+                                                 double coefficientThreshold, BigODriftListener listener) {
+        Preconditions.checkNotNull(listener);
+        Preconditions.checkArgument(0.0 < degreeThreshold, "degree threshold must be positive");
+        Preconditions.checkArgument(0.0 < coefficientThreshold, "coefficient threshold must be positive");
+
+        startStreamingFit(windowInterval, new BigODriftDetector(windowInterval, degreeThreshold,
+                coefficientThreshold, listener));
+    }
+
+    /**
+     * Stops the daemon thread of the streaming fit after a last update, the latest fits stay
+     * available
+     */
+    public synchronized void stopStreamingFit() {
+        if (streamingFitter != null) {
+            streamingFitter.stop();
+        }
+    }
+
+    /**
+     * Get the latest result of the streaming fit, or null if there is no fit for the method yet
+     */
+    public BigOFitSnapshot getLatestFit(String method) {
+        final BigOStreamingFitter fitter = streamingFitter;
+        return (fitter != null) ? fitter.getSnapshot(resolveMethod(method)) : null;
+    }
+
+    /**
+     * Get the selector of a method for getData, getDataChecked and the methods of BigOAssert, i.e.
+     * the name and the erased signature, e.g. <i>sort(java.util.List)</i>
+     */
+    public static String getSelector(Method method) {
+        return BigOParameterPlan.getSignature(method);
+    }
+
+    /**
+     * Maps a selector to the method identity of the measurements. The selector is the plain method
+     * name or the name with the erased signature, e.g. <i>sort(int[])</i>. A plain name of an
+     * overloaded method is accepted as long as only one of the overloads has been measured, and a
+     * signature of a method which is not overloaded has to match its parameter types.
+     */
+    private String resolveMethod(String selector) {
+        if (values.containsKey(selector) || samples.containsKey(selector)) {
+            return selector;
+        }
+        final int signatureStart = selector.indexOf('(');
+        if (signatureStart > 0) {
+            // a signature of a method which is not overloaded
+            final String name = selector.substring(0, signatureStart);
+            if (!values.containsKey(name) && !samples.containsKey(name)) {
+                return selector;
+            }
+            for (final BigOParameterPlan plan : plans.values()) {
+                Preconditions.checkArgument(!plan.getMethodId().equals(name)
+                                || plan.getSignature().equals(selector.replace(" ", "")),
+                        "Signature '" + selector + "' does not match the method " + plan.getSignature());
+            }
+            return name;
+        }
+        final List<String> overloads = new ArrayList<>();
+        for (final String id : getAnalysedMethodNames()) {
+            if (id.startsWith(selector + "(")) {
+                overloads.add(id);
+            }
+        }
+        Preconditions.checkState(overloads.size() < 2,
+                "Method name '" + selector + "' is overloaded, select one of " + overloads);
+        return overloads.isEmpty() ? selector : overloads.get(0);
+    }
+
     /**
      * Creates a class proxy that makes all the time measurements and stores the results in a
      * hash-map for later analysis. The annotation @BigOParameter marks the parameter to be
@@ -210,21 +824,70 @@ public class BigOAnalyser {
      * Get measured data for one method.
      */
     public Table<Integer, String, Double> getData(String method) {
+        return createDataTable(method, false);
+    }
+
+    /**
+     * Get measured data for one method, needed in the case of overloaded methods.
+     */
+    public Table<Integer, String, Double> getData(Method method) {
+        return getData(getSelector(method));
+    }
+
+    /**
+     * Get measured data for one method with the latency percentiles P50, P90, P99 and the maximum
+     * (MAX) of the time per call in additional columns. The percentiles are taken from single
+     * calls, i.e. the first call of each batch, so they are not averaged over the batch.
+     */
+    public Table<Integer, String, Double> getLatencyData(String method) {
+        return createDataTable(method, true);
+    }
+
+    private Table<Integer, String, Double> createDataTable(String method, boolean isLatencyNeeded) {
         final TreeBasedTable<Integer, String, Double> result = TreeBasedTable.create();
         int rowIndex = 0;
-        for (final String key : getKeys()) {
-            final String[] splitKey = key.split("#");
-            if (splitKey[0].equals(method)) {
+        final String methodId = resolveMethod(method);
+        final BigOMeasurementIndex index = values.get(methodId);
+        if (index != null) {
+            for (final BigOMeasurementKey key : index.getKeys()) {
+                // a new point has no calls until the first measurement is stored, and a reset point
+                // until it is measured again
+                final BigODataPoint lastCall = index.get(key);
+                if (lastCall.getCalls() == 0) {
+                    continue;
+                }
                 rowIndex++;
-                for (int i = 1; i < splitKey.length; i++) {
-                    final double cell = Long.parseLong(splitKey[i]);
-                    result.put(rowIndex, "N" + i, cell);
+                for (int i = 0; i < key.getNumberOfSizes(); i++) {
+                    result.put(rowIndex, "N" + (i + 1), (double) key.getSize(i));
                 }
-                final BigODataPoint lastCall = getValue(key);
                 final double cell = (double) lastCall.getTime() / (double) lastCall.getCalls();
-                result.put(rowIndex, "TIME", cell);
+                final double cpuCell = (double) lastCall.getCpuTime() / (double) lastCall.getCalls();
+                result.put(rowIndex, "TIME", (timeSource == BigOTimeSource.CPU) ? cpuCell : cell);
+                if (timeSource == BigOTimeSource.BOTH) {
+                    result.put(rowIndex, "CPU", cpuCell);
+                }
+                if (allocationMeasured) {
+                    result.put(rowIndex, "ALLOC", (double) lastCall.getAllocatedBytes() / (double) lastCall.getCalls());
+                }
+                if (heapMeasured) {
+                    result.put(rowIndex, "HEAP", (double) lastCall.getRetainedHeap());
+                }
+                if (gcPolicy != BigOGcPolicy.IGNORE) {
+                    result.put(rowIndex, gcPolicy.getColumnName(), (double) lastCall.getGcTime() / lastCall.getCalls());
+                }
+                if (isLatencyNeeded) {
+                    final BigOLatencyHistogram histogram = lastCall.getHistogram();
+                    result.put(rowIndex, "P50", (double) histogram.getValueAtPercentile(50.0));
+                    result.put(rowIndex, "P90", (double) histogram.getValueAtPercentile(90.0));
+                    result.put(rowIndex, "P99", (double) histogram.getValueAtPercentile(99.0));
+                    result.put(rowIndex, "MAX", (double) histogram.getMaxValue());
+                }
             }
         }
+        final BigOSizeBuckets buckets = samples.get(methodId);
+        if (buckets != null) {
+            buckets.putRows(result, rowIndex);
+        }
         Preconditions.checkState(!result.isEmpty(), "No data for method name '" + method + "'");
 
         return Tables.unmodifiableTable(result);
@@ -243,12 +906,23 @@ public class BigOAnalyser {
 
         // check size of data point table
         final boolean isNumberOfDataPointsSufficient = result.column("TIME").size() >= 4;
-        final String message = "minimum 4 data points are needed for a reliable analysis";
+        String message = "minimum 4 data points are needed for a reliable analysis";
+        if (!isNumberOfDataPointsSufficient && isTimeBudgetExhausted()) {
+            message += " (time budget exhausted, " + getSkippedCalls() + " calls not measured)";
+        }
         Preconditions.checkState(isNumberOfDataPointsSufficient, message);
 
         return Tables.unmodifiableTable(result);
     }
 
+    /**
+     * Get measured data for one method - with some internal checks, needed in the case of
+     * overloaded methods.
+     */
+    public Table<Integer, String, Double> getDataChecked(Method method) {
+        return getDataChecked(getSelector(method));
+    }
+
     /**
      * This method should return true, in the case you have measured data. This will be not the case
      * if not you may forget to: use the annotation @BigOParameter in your method to be tested, the
@@ -256,21 +930,13 @@ public class BigOAnalyser {
      * deactivated, the method was static and/or you used the wrong method name.
      */
     public boolean isAnalysed(String method) {
-        for (final String key : getKeys()) {
-            final String[] splitKey = key.split("#");
-            if (splitKey[0].equals(method)) {
-                return true;
-            }
-        }
-        return false;
+        final String methodId = resolveMethod(method);
+        return values.containsKey(methodId) || samples.containsKey(methodId);
     }
 
     public Set<String> getAnalysedMethodNames() {
-        Set<String> names = new TreeSet<>();
-        for (final String key : getKeys()) {
-            final String[] splitKey = key.split("#");
-            names.add(splitKey[0]);
-        }
+        Set<String> names = new TreeSet<>(values.keySet());
+        names.addAll(samples.keySet());
         return names;
     }
 
@@ -279,94 +945,187 @@ public class BigOAnalyser {
         return new MethodHandler() {
 
             public Object invoke(Object self, Method thisMethod, Method proceed, Object[] args) {
-                final String Key = getCurrentKey(thisMethod, args);
-                long endTime;
-                long calls = 0;
-                Object result;
-                final long startTime = System.nanoTime();
+                if (samplingRate > 0) {
+                    return invokeSampled(self, thisMethod, proceed, args);
+                }
+                final BigOMethodInvoker invoker = getInvoker(proceed);
+                final BigOTimeBudget budget = timeBudget;
+                if (budget.isExhausted()) {
+                    budget.skipCall();
+                    return invokeOnce(invoker, self, args);
+                }
+                final BigOParameterPlan plan = getPlan(thisMethod, self);
+                final String methodId = plan.getMethodId();
+                final BigOSequentialTest sequentialTest = sequentialTests.isEmpty() ? null
+                        : getSequentialTest(plan);
+                if (sequentialTest != null && sequentialTest.isDecided()) {
+                    sequentialTest.skipCall();
+                    return invokeOnce(invoker, self, args);
+                }
+                final BigOCompilationMonitor monitor = compilationMonitor;
+                // the data point is looked up before the calls, because a nested call of a proxied
+                // method on this thread changes the lookup key; a key is only created for a new point
+                final BigOMeasurementKey lookupKey = plan.getLookupKey(args);
+                final BigOMeasurementIndex existingIndex = values.get(methodId);
+                final BigODataPoint existingPoint = (existingIndex != null) ? existingIndex.get(lookupKey) : null;
+                final BigOMeasurementKey Key = (existingPoint == null || monitor != null) ? lookupKey.copy() : null;
+                final Instant measurementStart = (monitor != null) ? Instant.now() : null;
+                final long threadCpuStartTime = budget.getThreadCpuTime();
+                final boolean isProbe = probeThread == Thread.currentThread();
+                final BigOStoppingRule stoppingRule = new BigOStoppingRule(
+                        isProbe ? probeInterval : minimalMeasurementInterval,
+                        isProbe ? probeInterval : maximalMeasurementInterval, targetRelativeStandardError);
+                Object result = null;
+                final BigOGcPolicy policy = gcPolicy;
+                final BigOGcTracker gcTracker = (policy != BigOGcPolicy.IGNORE) ? new BigOGcTracker() : null;
+                final boolean isCpuTimeNeeded = timeSource != BigOTimeSource.WALL;
+                final com.sun.management.ThreadMXBean allocationBean = allocationMeasured
+                        ? (com.sun.management.ThreadMXBean) THREAD_MX_BEAN : null;
                 try {
                     do {
-                        result = proceed.invoke(self, args);
-                        calls++;
-                        endTime = System.nanoTime();
-                    } while ((endTime - startTime) < MINIMAL_MEASUREMENT_INTERVAL);
-                } catch (final IllegalArgumentException | IllegalAccessException | InvocationTargetException e) {
-                    throw new IllegalStateException("ERROR in invoke -> " + e.getCause());
+                        final long batchSize = stoppingRule.getBatchSize();
+                        if (gcTracker != null) {
+                            gcTracker.startBatch();
+                        }
+                        final long batchCpuStartTime = isCpuTimeNeeded ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0L;
+                        final long batchStartBytes = (allocationBean != null) ? allocationBean.getCurrentThreadAllocatedBytes() : 0L;
+                        // the first call of each batch is timed on its own for the latency histogram
+                        final long batchStartTime = System.nanoTime();
+                        result = invoker.invoke(self, args);
+                        final long firstCallEndTime = System.nanoTime();
+                        for (long batch = 1; batch < batchSize; batch++) {
+                            result = invoker.invoke(self, args);
+                        }
+                        final long batchEndTime = System.nanoTime();
+                        stoppingRule.setSampledCallTime(firstCallEndTime - batchStartTime);
+                        if (isCpuTimeNeeded) {
+                            stoppingRule.setBatchCpuTime(THREAD_MX_BEAN.getCurrentThreadCpuTime() - batchCpuStartTime);
+                        }
+                        if (allocationBean != null) {
+                            stoppingRule.setBatchAllocatedBytes(allocationBean.getCurrentThreadAllocatedBytes() - batchStartBytes);
+                        }
+                        if (gcTracker != null && gcTracker.isCollected()) {
+                            final long batchGcTime = gcTracker.getBatchGcTime(batchEndTime - batchStartTime);
+                            stoppingRule.setBatchGcTime(batchGcTime);
+                            policy.addBatch(stoppingRule, batchStartTime, batchEndTime, batchGcTime);
+                        } else {
+                            stoppingRule.addBatch(batchStartTime, batchEndTime);
+                        }
+                    } while (!stoppingRule.isComplete() && !budget.isExhausted(threadCpuStartTime));
+                } catch (final RuntimeException | Error e) {
+                    throw e;
+                } catch (final Throwable e) {
+                    throw new IllegalStateException("ERROR in invoke -> " + e);
                 }
+                budget.addCpuTime(threadCpuStartTime);
+                totalTime.add(stoppingRule.getTime());
+                totalCalls.add(stoppingRule.getCalls());
                 if (active) {
-                    storeTimeMeasurement(Key, endTime - startTime, calls);
+                    final BigODataPoint bigOProbe = (existingPoint != null) ? existingPoint
+                            : getIndex(methodId).getOrCreate(Key);
+                    storeTimeMeasurement(bigOProbe, stoppingRule);
+                    if (heapMeasured) {
+                        // the walk of the object graph is not part of the measured time
+                        final String fieldName = heapFieldName;
+                        final Object root = (fieldName == null) ? result : BigORetainedHeap.getFieldValue(self, fieldName);
+                        bigOProbe.addRetainedHeap(BigORetainedHeap.getRetainedSize(root));
+                    }
+                    if (monitor != null) {
+                        monitor.addMeasurement(Key, measurementStart, Instant.now());
+                    }
+                    if (sequentialTest != null && existingPoint == null) {
+                        // the estimate changes only with a new size
+                        sequentialTest.update(createDataTable(methodId, false));
+                    }
                 }
                 return result;
             }
 
-            private void storeTimeMeasurement(String currentKey, long deltaTime, long calls) {
-                if (values.containsKey(currentKey)) {
-                    final BigODataPoint bigOProbe = values.get(currentKey);
-                    bigOProbe.addTime(deltaTime);
-                    bigOProbe.setCalls(calls);
-                } else {
-                    final BigODataPoint bigOProbe = new BigODataPoint();
-                    bigOProbe.addTime(deltaTime);
-                    bigOProbe.setCalls(calls);
-                    values.put(currentKey, bigOProbe);
+            /**
+             * Executes the method exactly once, and measures the time only for the sampled calls
+             */
+            private Object invokeSampled(Object self, Method thisMethod, Method proceed, Object[] args) {
+                final BigOMethodInvoker invoker = getInvoker(proceed);
+                final int rate = samplingRate;
+                final boolean isSampled = active && (rate == 1 || ThreadLocalRandom.current().nextInt(rate) == 0);
+                if (!isSampled) {
+                    return invokeOnce(invoker, self, args);
                 }
-            }
-
-            private String getCurrentKey(Method method, Object[] args) {
-                final StringBuilder key = new StringBuilder(method.getName());
-                final Type[] types = method.getGenericParameterTypes();
-                int index = 0;
-                for (final Annotation[] annotations : method.getParameterAnnotations()) {
-                    for (final Annotation annotation : annotations) {
-                        if (annotation instanceof BigOParameter) {
-                            appendParameterInformation(key, types[index], args[index]);
-                        }
+                final BigOParameterPlan plan = getPlan(thisMethod, self);
+                final long size = plan.getFirstSize(args);
+                final long startTime = System.nanoTime();
+                final Object result = invokeOnce(invoker, self, args);
+                final long time = System.nanoTime() - startTime;
+                if (size >= 0) {
+                    final BigOStreamingFitter fitter = streamingFitter;
+                    if (fitter != null && fitter.isRunning()) {
+                        fitter.offer(plan.getMethodId(), size, time);
+                    } else {
+                        samples.computeIfAbsent(plan.getMethodId(), name -> new BigOSizeBuckets()).add(size, time);
                     }
-                    index++;
                 }
-                return key.toString();
+                return result;
             }
 
-            /**
-             * Java VM Type Signatures (see
-             * <a href="http://docs.oracle.com/javase/1.5.0/docs/guide/jni/spec/types.html#wp276">...</a>)
-             */
-            @SuppressWarnings("rawtypes")
-            private void appendParameterInformation(final StringBuilder result, final Type parameterType,
-                                                    Object parameterArgument) {
-
-                switch (parameterType.toString()) {
-                    case "class [I" -> result.append('#').append(((int[]) parameterArgument).length);
-                    case "class [F" -> result.append('#').append(((float[]) parameterArgument).length);
-                    case "class [J" -> result.append('#').append(((long[]) parameterArgument).length);
-                    case "class [D" -> result.append('#').append(((double[]) parameterArgument).length);
-                    case "class [B" -> result.append('#').append(((byte[]) parameterArgument).length);
-                    case "int", "long" -> result.append('#').append(parameterArgument);
-                    case "class java.lang.String" -> result.append('#').append(((String) parameterArgument).length());
-                    default -> {
-                        if (parameterType.toString().startsWith("java.util.List")) {
-                            result.append('#').append(((List) parameterArgument).size());
-                        } else if (parameterType.toString().startsWith("java.util.Set")) {
-                            result.append('#').append(((Set) parameterArgument).size());
-                        } else if (parameterType.toString().startsWith("java.util.Map")) {
-                            result.append('#').append(((Map) parameterArgument).values().size());
-                        } else {
-                            throw new IllegalStateException("Not supported data type '" + parameterType +
-                                    "' for method " + (result.toString().split("#"))[0]);
-                        }
-                    }
+            private Object invokeOnce(BigOMethodInvoker invoker, Object self, Object[] args) {
+                try {
+                    return invoker.invoke(self, args);
+                } catch (final RuntimeException | Error e) {
+                    throw e;
+                } catch (final Throwable e) {
+                    throw new IllegalStateException("ERROR in invoke -> " + e);
                 }
             }
 
+            private BigOMethodInvoker getInvoker(Method proceed) {
+                final BigOMethodInvoker invoker = invokers.get(proceed);
+                return (invoker != null) ? invoker : invokers.computeIfAbsent(proceed, BigOMethodInvoker::new);
+            }
+
+            private BigOMeasurementIndex getIndex(String methodId) {
+                // lock-free in the usual case of an existing index
+                final BigOMeasurementIndex index = values.get(methodId);
+                return (index != null) ? index : values.computeIfAbsent(methodId, name -> new BigOMeasurementIndex());
+            }
+
+            private void storeTimeMeasurement(BigODataPoint bigOProbe, BigOStoppingRule stoppingRule) {
+                bigOProbe.addTime(stoppingRule.getTime(), stoppingRule.getCalls());
+                bigOProbe.addHistogram(stoppingRule.getHistogram());
+                bigOProbe.addGcTime(stoppingRule.getGcTime());
+                bigOProbe.addCpuTime(stoppingRule.getCpuTime());
+                bigOProbe.addAllocatedBytes(stoppingRule.getAllocatedBytes());
+            }
+
+            private BigOParameterPlan getPlan(Method method, Object self) {
+                final BigOParameterPlan plan = plans.get(method);
+                return (plan != null) ? plan
+                        : plans.computeIfAbsent(method, key -> new BigOParameterPlan(key, self.getClass()));
+            }
+
         };
     }
 
+    /**
+     * Get the data point of a key in the string form <i>[method name]#[first size]...#[last
+     * size]</i>, or null if there is no such data point
+     */
     public BigODataPoint getValue(String key) {
-        return values.get(key);
+        final BigOMeasurementKey measurementKey = BigOMeasurementKey.parse(key);
+        final BigOMeasurementIndex index = (measurementKey != null) ? values.get(measurementKey.getMethod()) : null;
+        return (index != null) ? index.get(measurementKey) : null;
     }
 
+    /**
+     * Get all keys in the string form <i>[method name]#[first size]...#[last size]</i>
+     */
     public Set<String> getKeys() {
-        return values.keySet();
+        final Set<String> result = new HashSet<>();
+        for (final BigOMeasurementIndex index : values.values()) {
+            for (final BigOMeasurementKey key : index.getKeys()) {
+                result.add(key.toString());
+            }
+        }
+        return result;
     }
 
 }
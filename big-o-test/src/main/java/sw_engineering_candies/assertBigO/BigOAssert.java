@@ -32,10 +32,17 @@
 package sw_engineering_candies.assertBigO;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Range;
 import com.google.common.collect.Table;
+import com.google.common.collect.TreeBasedTable;
+
+import java.util.Arrays;
+import java.util.Locale;
 
 /**
- * This class provides assert methods to check the empirically estimated Big-O time efficiency.
+ * This class provides assert methods to check the empirically estimated Big-O time efficiency. The
+ * method is selected by its name or, for overloaded methods, by its name with the erased signature,
+ * e.g. "sort(int[])" (see BigOAnalyser.getSelector).
  */
 public class BigOAssert {
 
@@ -48,6 +55,17 @@ public class BigOAssert {
     public static final double DEGREE_EXPECTED_CONSTANT = 0.0;
     public static final double DEGREE_EXPECTED_DELTA = 0.15;
 
+    /**
+     * Allocations and heap sizes below one byte are fitted as one byte, because the logarithm of
+     * zero is not defined, i.e. methods without allocations are constant
+     */
+    private static final double MINIMAL_BYTES = 1.0;
+
+    /**
+     * Confidence level of the reported interval of the polynomial degree
+     */
+    private static final double CONFIDENCE_LEVEL = 0.95;
+
     /**
      * Use the platform independent line separator
      */
@@ -70,12 +88,121 @@ public class BigOAssert {
         // assert that degree is in expected range
         if (actual < expected - delta || actual > expected + delta) {
             String message = "BigOAssertException - assertPolynomialDegree failed:" +
+                    NL + "\tPolynomial degree expected = " + expected +
+                    NL + "\tPolynomial degree actual   = " + actual +
+                    getConfidenceReport(boa, data);
+            throw new BigOAssertWarningError(message);
+        }
+    }
+
+    /**
+     * Asserts that the bootstrap confidence interval of the polynomial degree contains the expected
+     * degree. Instead of the fixed DEGREE_EXPECTED_DELTA the tolerance is given by the noise of the
+     * single calls of each size.
+     */
+    public static void assertPolynomialDegreeInterval(BigOAnalyser boa, String method, double expected) {
+        assertPolynomialDegreeInterval(boa, method, expected, CONFIDENCE_LEVEL);
+    }
+
+    public static void assertPolynomialDegreeInterval(BigOAnalyser boa, String method, double expected,
+                                                      double confidenceLevel) {
+        // check preconditions
+        Preconditions.checkNotNull(boa);
+        Preconditions.checkNotNull(method);
+        Preconditions.checkArgument(boa.isAnalysed(method), "here we need an analysed method name");
+        Preconditions.checkArgument(0.0 <= expected);
+
+        // check measured data
+        boa.getDataChecked(method);
+
+        // estimate polynomial degree with confidence interval
+        final BigODegreeEstimate actual = boa.estimatePolynomialDegreeWithConfidence(method, confidenceLevel);
+
+        // assert that expected degree is in confidence interval
+        if (!actual.contains(expected)) {
+            String message = "BigOAssertException - assertPolynomialDegreeInterval failed:" +
                     NL + "\tPolynomial degree expected = " + expected +
                     NL + "\tPolynomial degree actual   = " + actual;
             throw new BigOAssertWarningError(message);
         }
     }
 
+    /**
+     * Asserts the verdict of the sequential test started with BigOAnalyser.startSequentialTest. In
+     * the case the confidence interval never got entirely inside or outside of expected +/- delta,
+     * the polynomial degree of all measured data is asserted.
+     */
+    public static void assertPolynomialDegreeSequentially(BigOAnalyser boa, String method) {
+        // check preconditions
+        Preconditions.checkNotNull(boa);
+        Preconditions.checkNotNull(method);
+        final BigOSequentialTest test = boa.getSequentialTest(method);
+        Preconditions.checkArgument(test != null, "here we need a method with a started sequential test");
+        Preconditions.checkArgument(boa.isAnalysed(method), "here we need an analysed method name");
+
+        switch (test.getVerdict()) {
+            case INSIDE:
+                return;
+            case OUTSIDE:
+                final Range<Double> interval = test.getInterval();
+                String message = "BigOAssertException - assertPolynomialDegreeSequentially failed:" +
+                        NL + "\tPolynomial degree expected = " + test.getExpected() + " +/- " + test.getDelta() +
+                        NL + "\tPolynomial degree " + Math.round(test.getConfidenceLevel() * 100) +
+                        "% confidence interval = " +
+                        String.format(Locale.US, "[%.3f, %.3f]", interval.lowerEndpoint(), interval.upperEndpoint()) +
+                        " after " + test.getNumberOfSizes() + " sizes";
+                throw new BigOAssertWarningError(message);
+            default:
+                assertPolynomialDegree(boa, method, test.getExpected(), test.getDelta());
+        }
+    }
+
+    /**
+     * Asserts the polynomial degree of each parameter N1, ..., Nk, e.g. expected = {1.0, 1.0} for
+     * an algorithm of O(n*m)
+     */
+    public static void assertPolynomialDegrees(BigOAnalyser boa, String method, double delta, double... expected) {
+        // check preconditions
+        Preconditions.checkNotNull(boa);
+        Preconditions.checkNotNull(method);
+        Preconditions.checkArgument(boa.isAnalysed(method), "here we need an analysed method name");
+        Preconditions.checkArgument(0.0 <= delta);
+
+        // fetch measured data
+        final Table<Integer, String, Double> data = boa.getDataChecked(method);
+
+        // estimate polynomial degree of each parameter
+        final double[] actual = BigOAnalyser.estimatePolynomialDegrees(data);
+        Preconditions.checkArgument(expected.length == actual.length,
+                "expect a polynomial degree for each of the " + actual.length + " parameters");
+
+        // assert that each degree is in expected range
+        for (int i = 0; i < actual.length; i++) {
+            if (actual[i] < expected[i] - delta || actual[i] > expected[i] + delta) {
+                String message = "BigOAssertException - assertPolynomialDegrees failed:" +
+                        NL + "\tPolynomial degrees expected = " + Arrays.toString(expected) +
+                        NL + "\tPolynomial degrees actual   = " + Arrays.toString(actual) +
+                        getConfidenceReport(boa, data);
+                throw new BigOAssertWarningError(message);
+            }
+        }
+    }
+
+    /**
+     * In the case of an exhausted time budget the failed assert reports how confident the estimate
+     * is with the data measured so far
+     */
+    private static String getConfidenceReport(BigOAnalyser boa, Table<Integer, String, Double> data) {
+        if (!boa.isTimeBudgetExhausted()) {
+            return "";
+        }
+        final Range<Double> interval = BigOAnalyser.estimatePolynomialDegreeInterval(data, CONFIDENCE_LEVEL);
+        return NL + "\tTime budget exhausted, " + boa.getSkippedCalls() + " calls not measured" +
+                NL + "\tPolynomial degree " + Math.round(CONFIDENCE_LEVEL * 100) + "% confidence interval = " +
+                String.format(Locale.US, "[%.3f, %.3f]", interval.lowerEndpoint(), interval.upperEndpoint()) +
+                " from " + data.rowKeySet().size() + " data points";
+    }
+
     public static void assertConstant(BigOAnalyser boa, String method) {
         // check preconditions
         Preconditions.checkNotNull(boa);
@@ -120,4 +247,83 @@ public class BigOAssert {
         assertPolynomialDegree(boa, method, DEGREE_EXPECTED_LOG_LINEAR, DEGREE_EXPECTED_DELTA);
     }
 
+    /**
+     * Asserts the polynomial degree of the allocated bytes per call (column ALLOC), the analyser
+     * needs an activated allocation measurement, see BigOAnalyser.setAllocationMeasured
+     */
+    public static void assertAllocationPolynomialDegree(BigOAnalyser boa, String method, double expected,
+                                                        double delta) {
+        // check preconditions
+        Preconditions.checkNotNull(boa);
+        Preconditions.checkArgument(boa.isAllocationMeasured(), "here we need an activated allocation measurement");
+
+        assertBytesPolynomialDegree("assertAllocationPolynomialDegree", boa, method, "ALLOC", expected, delta);
+    }
+
+    public static void assertAllocationConstant(BigOAnalyser boa, String method) {
+        assertAllocationPolynomialDegree(boa, method, DEGREE_EXPECTED_CONSTANT, DEGREE_EXPECTED_DELTA);
+    }
+
+    public static void assertAllocationLinear(BigOAnalyser boa, String method) {
+        assertAllocationPolynomialDegree(boa, method, DEGREE_EXPECTED_LINEAR, DEGREE_EXPECTED_DELTA);
+    }
+
+    public static void assertAllocationQuadratic(BigOAnalyser boa, String method) {
+        assertAllocationPolynomialDegree(boa, method, DEGREE_EXPECTED_QUADRATIC, DEGREE_EXPECTED_DELTA);
+    }
+
+    /**
+     * Asserts the polynomial degree of the retained heap (column HEAP), the analyser needs an
+     * activated heap measurement, see BigOAnalyser.setHeapMeasured
+     */
+    public static void assertHeapPolynomialDegree(BigOAnalyser boa, String method, double expected, double delta) {
+        // check preconditions
+        Preconditions.checkNotNull(boa);
+        Preconditions.checkArgument(boa.isHeapMeasured(), "here we need an activated heap measurement");
+
+        assertBytesPolynomialDegree("assertHeapPolynomialDegree", boa, method, "HEAP", expected, delta);
+    }
+
+    public static void assertHeapConstant(BigOAnalyser boa, String method) {
+        assertHeapPolynomialDegree(boa, method, DEGREE_EXPECTED_CONSTANT, DEGREE_EXPECTED_DELTA);
+    }
+
+    public static void assertHeapLinear(BigOAnalyser boa, String method) {
+        assertHeapPolynomialDegree(boa, method, DEGREE_EXPECTED_LINEAR, DEGREE_EXPECTED_DELTA);
+    }
+
+    public static void assertHeapQuadratic(BigOAnalyser boa, String method) {
+        assertHeapPolynomialDegree(boa, method, DEGREE_EXPECTED_QUADRATIC, DEGREE_EXPECTED_DELTA);
+    }
+
+    private static void assertBytesPolynomialDegree(String assertName, BigOAnalyser boa, String method, String column,
+                                                    double expected, double delta) {
+        // check preconditions
+        Preconditions.checkNotNull(method);
+        Preconditions.checkArgument(boa.isAnalysed(method), "here we need an analysed method name");
+        Preconditions.checkArgument(0.0 <= expected);
+        Preconditions.checkArgument(0.0 <= delta);
+
+        // fetch measured data
+        final Table<Integer, String, Double> data = boa.getDataChecked(method);
+        final Table<Integer, String, Double> bytes = TreeBasedTable.create();
+        for (final Integer row : data.rowKeySet()) {
+            for (int i = 1; data.containsColumn("N" + i); i++) {
+                bytes.put(row, "N" + i, data.get(row, "N" + i));
+            }
+            bytes.put(row, column, Math.max(MINIMAL_BYTES, data.get(row, column)));
+        }
+
+        // estimate polynomial degree
+        final double actual = BigOAnalyser.estimatePolynomialDegree(bytes, column);
+
+        // assert that degree is in expected range
+        if (actual < expected - delta || actual > expected + delta) {
+            String message = "BigOAssertException - " + assertName + " failed:" +
+                    NL + "\tPolynomial degree expected = " + expected +
+                    NL + "\tPolynomial degree actual   = " + actual;
+            throw new BigOAssertWarningError(message);
+        }
+    }
+
 }
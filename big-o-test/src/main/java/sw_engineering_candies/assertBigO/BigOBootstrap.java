@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * This class estimates the confidence interval of the polynomial degree with the bootstrap method.
+ * The sizes stay fixed, and the single-call latencies of each size (see BigOLatencyHistogram) are
+ * resampled with replacement. The measured time of each size is scaled with the ratio of the mean
+ * of its resample to the mean of all its latencies, the slope of the logarithms is fitted, and the
+ * interval is given by the percentiles of these slopes. A size with less than two latencies keeps
+ * its time. The resamples are independent, so they are fitted in parallel. Each resample has its
+ * own random generator derived from a fixed seed, i.e. the result doesn't depend on the number of
+ * cores.
+ */
+final class BigOBootstrap {
+
+    static final int DEFAULT_NUMBER_OF_RESAMPLES = 2000;
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    private BigOBootstrap() {
+    }
+
+    /**
+     * Estimates the degree for the logarithms of the sizes (xValues) and times (yValues), the
+     * latencies are given in the same order as the values
+     */
+    static BigODegreeEstimate estimate(double[] xValues, double[] yValues, List<BigOLatencyHistogram> latencies,
+                                       double confidenceLevel, int numberOfResamples) {
+        Preconditions.checkArgument(xValues.length == yValues.length, "need the same number of x and y values");
+        Preconditions.checkArgument(xValues.length == latencies.size(), "need the latencies of each data point");
+        Preconditions.checkArgument(xValues.length >= 3, "need minimum 3 data points");
+        Preconditions.checkArgument(0.0 < confidenceLevel && confidenceLevel < 1.0,
+                "confidence level must be between 0 and 1");
+        Preconditions.checkArgument(numberOfResamples >= 100, "need minimum 100 resamples");
+
+        final double degree = fitSlope(xValues, yValues);
+        Preconditions.checkState(!Double.isNaN(degree), "need data points with different sizes");
+
+        final CallSamples[] samples = latencies.stream().map(CallSamples::new).toArray(CallSamples[]::new);
+        final double[] slopes = IntStream.range(0, numberOfResamples).parallel()
+                .mapToDouble(resample -> fitResample(xValues, yValues, samples, new SplittableRandom(SEED + resample)))
+                .sorted()
+                .toArray();
+
+        final double alpha = (1.0 - confidenceLevel) / 2.0;
+        final double lowerBound = slopes[(int) Math.floor(alpha * (slopes.length - 1))];
+        final double upperBound = slopes[(int) Math.ceil((1.0 - alpha) * (slopes.length - 1))];
+        return new BigODegreeEstimate(degree, lowerBound, upperBound, confidenceLevel);
+    }
+
+    private static double fitResample(double[] xValues, double[] yValues, CallSamples[] samples,
+                                      SplittableRandom random) {
+        final double[] y = new double[yValues.length];
+        for (int i = 0; i < y.length; i++) {
+            y[i] = yValues[i] + Math.log10(samples[i].getResampledRatio(random));
+        }
+        return fitSlope(xValues, y);
+    }
+
+    /**
+     * Least squares slope, NaN if all x values are equal
+     */
+    static double fitSlope(double[] x, double[] y) {
+        final double meanX = Arrays.stream(x).average().orElse(0.0);
+        final double meanY = Arrays.stream(y).average().orElse(0.0);
+        double sumXY = 0.0;
+        double sumXX = 0.0;
+        for (int i = 0; i < x.length; i++) {
+            sumXY += (x[i] - meanX) * (y[i] - meanY);
+            sumXX += (x[i] - meanX) * (x[i] - meanX);
+        }
+        return (sumXX > 0.0) ? sumXY / sumXX : Double.NaN;
+    }
+
+    /**
+     * Single-call latencies of one size, i.e. the non-empty buckets of the histogram. Latencies
+     * below one nanosecond are counted as one nanosecond, so each ratio is positive.
+     */
+    private static final class CallSamples {
+
+        private final long[] values;
+
+        private final long[] cumulativeCounts;
+
+        private final long totalCount;
+
+        private final double mean;
+
+        CallSamples(BigOLatencyHistogram histogram) {
+            final long[][] buckets = histogram.getBuckets();
+            values = buckets[0];
+            cumulativeCounts = new long[values.length];
+            long count = 0L;
+            double sum = 0.0;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Math.max(1L, values[i]);
+                count += buckets[1][i];
+                sum += (double) values[i] * buckets[1][i];
+                cumulativeCounts[i] = count;
+            }
+            totalCount = count;
+            mean = (count > 0) ? sum / count : 0.0;
+        }
+
+        /**
+         * Ratio of the mean of a resample with replacement to the mean of all latencies, one for
+         * less than two latencies
+         */
+        double getResampledRatio(SplittableRandom random) {
+            if (totalCount < 2) {
+                return 1.0;
+            }
+            double sum = 0.0;
+            for (long draw = 0; draw < totalCount; draw++) {
+                // the bucket of the drawn latency is the first one with a greater cumulative count
+                final int index = Arrays.binarySearch(cumulativeCounts, random.nextLong(totalCount) + 1);
+                sum += values[(index >= 0) ? index : -index - 1];
+            }
+            return sum / totalCount / mean;
+        }
+
+    }
+
+}
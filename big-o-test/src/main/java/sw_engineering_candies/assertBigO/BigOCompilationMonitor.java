@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordingFile;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * This class observes the JIT compiler while a class is measured. If the JVM supports JFR
+ * streaming, the Compilation and Deoptimization events of the methods of the class are recorded.
+ * Otherwise, only the total compilation time of the CompilationMXBean is available. JFR delivers
+ * the events to the stream only about once per second, so the events are read from a dump of the
+ * recording to a file, e.g. after each warmup round and after the measurement.
+ */
+final class BigOCompilationMonitor implements AutoCloseable {
+
+    private final CompilationMXBean compilationMXBean = ManagementFactory.getCompilationMXBean();
+
+    private final String className;
+
+    private final RecordingStream recordingStream;
+
+    /**
+     * Wall-clock start and end of each measurement
+     */
+    private final Queue<Measurement> measurements = new ConcurrentLinkedQueue<>();
+
+    private record Measurement(BigOMeasurementKey key, Instant start, Instant end) {
+    }
+
+    BigOCompilationMonitor(Class<?> clazz) {
+        this.className = clazz.getName();
+        this.recordingStream = createRecordingStream();
+    }
+
+    private RecordingStream createRecordingStream() {
+        try {
+            final RecordingStream result = new RecordingStream();
+            result.enable("jdk.Compilation").withThreshold(Duration.ZERO);
+            result.enable("jdk.Deoptimization");
+            result.startAsync();
+            return result;
+        } catch (final RuntimeException | Error e) {
+            // JFR is not available, e.g. in a JVM without the module jdk.jfr
+            return null;
+        }
+    }
+
+    private boolean isMethodOfClass(RecordedEvent event) {
+        final RecordedMethod method = event.getValue("method");
+        return method != null && method.getType() != null && className.equals(method.getType().getName());
+    }
+
+    boolean isRecording() {
+        return recordingStream != null;
+    }
+
+    /**
+     * Get the total compilation time of the JVM in milliseconds, zero if not supported
+     */
+    long getCompilationTime() {
+        if (compilationMXBean == null || !compilationMXBean.isCompilationTimeMonitoringSupported()) {
+            return 0L;
+        }
+        return compilationMXBean.getTotalCompilationTime();
+    }
+
+    /**
+     * Get the number of compilations of methods of the class recorded until now, zero without JFR
+     */
+    long getCompilations() {
+        if (recordingStream == null) {
+            return 0L;
+        }
+        return readEvents("jdk.Compilation").size();
+    }
+
+    void addMeasurement(BigOMeasurementKey key, Instant start, Instant end) {
+        if (recordingStream != null) {
+            measurements.add(new Measurement(key, start, end));
+        }
+    }
+
+    /**
+     * Returns the keys of all measurements which overlap a deoptimization of a method of the class,
+     * the checked measurements are removed. The recorded events until now are read from a dump of
+     * the recording, so there is no wait for the next delivery to the stream.
+     */
+    List<BigOMeasurementKey> getDeoptimizedMeasurements() {
+        final List<BigOMeasurementKey> result = new ArrayList<>();
+        if (recordingStream == null || measurements.isEmpty()) {
+            return result;
+        }
+        final List<Instant> deoptimizations = readEvents("jdk.Deoptimization");
+        for (Measurement measurement = measurements.poll(); measurement != null; measurement = measurements.poll()) {
+            for (final Instant deoptimization : deoptimizations) {
+                if (!deoptimization.isBefore(measurement.start()) && !deoptimization.isAfter(measurement.end())
+                        && !result.contains(measurement.key())) {
+                    result.add(measurement.key());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Start times of the events of the type for methods of the class
+     */
+    private List<Instant> readEvents(String eventType) {
+        final List<Instant> result = new ArrayList<>();
+        try {
+            final Path file = Files.createTempFile("big-o-test", ".jfr");
+            try {
+                recordingStream.dump(file);
+                try (RecordingFile recordingFile = new RecordingFile(file)) {
+                    while (recordingFile.hasMoreEvents()) {
+                        final RecordedEvent event = recordingFile.readEvent();
+                        if (eventType.equals(event.getEventType().getName()) && isMethodOfClass(event)) {
+                            result.add(event.getStartTime());
+                        }
+                    }
+                }
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+}
@@ -32,27 +32,121 @@ package sw_engineering_candies.assertBigO;
 
 import lombok.Getter;
 
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
- * This class is used to store measured results.
+ * This class is used to store measured results. All values are accumulated without locks, so that
+ * several threads may record measurements for the same data point concurrently. The sums are merged
+ * on read.
  */
-@Getter
 public class BigODataPoint {
 
-    private long calls = 0L;
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder time = new LongAdder();
+
+    private final LongAdder gcTime = new LongAdder();
+
+    private final LongAdder cpuTime = new LongAdder();
+
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    private final LongAccumulator retainedHeap = new LongAccumulator(Long::max, 0L);
+
+    @Getter
+    private final BigOLatencyHistogram histogram = new BigOLatencyHistogram();
+
+    public long getCalls() {
+        return calls.sum();
+    }
 
-    private long time = 0L;
+    public long getTime() {
+        return time.sum();
+    }
 
     public void addTime(long d) {
-        calls++;
-        time += d;
+        calls.increment();
+        time.add(d);
+    }
+
+    /**
+     * Adds the measured time of a number of calls
+     */
+    public void addTime(long d, long numberOfCalls) {
+        calls.add(numberOfCalls);
+        time.add(d);
+    }
+
+    /**
+     * Time of the garbage collections during the measurement, see BigOGcPolicy
+     */
+    public long getGcTime() {
+        return gcTime.sum();
+    }
+
+    public void addGcTime(long d) {
+        gcTime.add(d);
+    }
+
+    /**
+     * CPU time of the measuring thread, see BigOTimeSource
+     */
+    public long getCpuTime() {
+        return cpuTime.sum();
+    }
+
+    public void addCpuTime(long d) {
+        cpuTime.add(d);
+    }
+
+    /**
+     * Bytes allocated by the measuring thread, see BigOAnalyser.setAllocationMeasured
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    public void addAllocatedBytes(long d) {
+        allocatedBytes.add(d);
+    }
+
+    /**
+     * Largest retained heap in bytes of all measurements, see BigOAnalyser.setHeapMeasured
+     */
+    public long getRetainedHeap() {
+        return retainedHeap.get();
+    }
+
+    public void addRetainedHeap(long d) {
+        retainedHeap.accumulate(d);
     }
 
     public void setCalls(long calls2) {
-        calls = calls2;
+        calls.reset();
+        calls.add(calls2);
     }
 
     public void setNanoTime(int d) {
-        time = d;
+        time.reset();
+        time.add(d);
+    }
+
+    public void addHistogram(BigOLatencyHistogram other) {
+        histogram.add(other);
+    }
+
+    /**
+     * Removes all measured values, e.g. to measure the data point again
+     */
+    void reset() {
+        calls.reset();
+        time.reset();
+        gcTime.reset();
+        cpuTime.reset();
+        allocatedBytes.reset();
+        retainedHeap.reset();
+        histogram.reset();
     }
 
-}
\ No newline at end of file
+}
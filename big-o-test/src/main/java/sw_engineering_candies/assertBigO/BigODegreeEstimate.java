@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * This class is an immutable estimate of the polynomial degree with its bootstrap confidence
+ * interval, i.e. the degree of the measured data and the percentiles of the degrees of the
+ * resampled data.
+ */
+@Getter
+public final class BigODegreeEstimate {
+
+    private final double degree;
+
+    private final double lowerBound;
+
+    private final double upperBound;
+
+    private final double confidenceLevel;
+
+    BigODegreeEstimate(double degree, double lowerBound, double upperBound, double confidenceLevel) {
+        this.degree = degree;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.confidenceLevel = confidenceLevel;
+    }
+
+    public boolean contains(double expected) {
+        return lowerBound <= expected && expected <= upperBound;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%.3f [%.3f, %.3f] (%.0f%% confidence)", degree, lowerBound, upperBound,
+                confidenceLevel * 100);
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import com.google.common.collect.Table;
+import com.google.common.collect.TreeBasedTable;
+import sw_engineering_candies.assertBigO.interfaces.BigODriftListener;
+import sw_engineering_candies.assertBigO.math.FitterPolynomial;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class detects a complexity drift of the production mode. The samples of each method are
+ * collected per time window and each window is fitted with the model T = c * n^d. The first window
+ * with enough data is the reference, a later window with a different degree d or leading coefficient
+ * c is reported to the listener and becomes the new reference. All methods are called by the daemon
+ * thread of the streaming fitter only.
+ */
+final class BigODriftDetector {
+
+    /**
+     * Minimal number of non-empty buckets for the fit of a window
+     */
+    private static final int MINIMAL_NUMBER_OF_ROWS = 4;
+
+    private final long windowInterval;
+
+    private final double degreeThreshold;
+
+    private final double coefficientThreshold;
+
+    private final BigODriftListener listener;
+
+    private final Map<String, BigOSizeBuckets> windows = new HashMap<>();
+
+    private final Map<String, FitterPolynomial> references = new HashMap<>();
+
+    private long windowStart = System.currentTimeMillis();
+
+    private long notFittedWindows = 0L;
+
+    BigODriftDetector(long windowInterval, double degreeThreshold, double coefficientThreshold,
+                      BigODriftListener listener) {
+        this.windowInterval = windowInterval;
+        this.degreeThreshold = degreeThreshold;
+        this.coefficientThreshold = coefficientThreshold;
+        this.listener = listener;
+    }
+
+    BigOSizeBuckets getWindow(String method) {
+        return windows.computeIfAbsent(method, name -> new BigOSizeBuckets());
+    }
+
+    /**
+     * Fits all windows as soon as the window interval is over and starts new windows
+     */
+    void update(long now) {
+        if (now - windowStart < windowInterval) {
+            return;
+        }
+        for (final Map.Entry<String, BigOSizeBuckets> entry : windows.entrySet()) {
+            final Table<Integer, String, Double> data = TreeBasedTable.create();
+            if (entry.getValue().putRows(data, 0) >= MINIMAL_NUMBER_OF_ROWS) {
+                check(entry.getKey(), data, now);
+            }
+        }
+        windows.clear();
+        windowStart = now;
+    }
+
+    /**
+     * Number of windows with enough data, which could not be fitted
+     */
+    long getNotFittedWindows() {
+        return notFittedWindows;
+    }
+
+    private void check(String method, Table<Integer, String, Double> data, long now) {
+        final FitterPolynomial fit;
+        try {
+            fit = BigOAnalyser.fitPolynomialDegree(data, "TIME");
+        } catch (final RuntimeException e) {
+            // the window is not good enough for a fit, e.g. the times got noisy
+            notFittedWindows++;
+            try {
+                listener.windowNotFitted(method, windowStart, now);
+            } catch (final RuntimeException listenerException) {
+                // a failing listener must not stop the daemon thread
+            }
+            return;
+        }
+
+        final FitterPolynomial reference = references.get(method);
+        if (reference == null) {
+            references.put(method, fit);
+            return;
+        }
+
+        final double referenceDegree = reference.getCoefficient(1);
+        final double referenceCoefficient = Math.pow(10.0, reference.getCoefficient(0));
+        final double degree = fit.getCoefficient(1);
+        final double coefficient = Math.pow(10.0, fit.getCoefficient(0));
+        final boolean isDegreeDrift = Math.abs(degree - referenceDegree) > degreeThreshold;
+        final boolean isCoefficientDrift =
+                Math.abs(coefficient - referenceCoefficient) > coefficientThreshold * referenceCoefficient;
+        if (isDegreeDrift || isCoefficientDrift) {
+            references.put(method, fit);
+            try {
+                listener.driftDetected(new BigODriftEvent(method, referenceDegree, referenceCoefficient,
+                        degree, coefficient, windowStart, now));
+            } catch (final RuntimeException e) {
+                // a failing listener must not stop the daemon thread
+            }
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * This class is an immutable description of a complexity drift, i.e. the fit of the current time
+ * window differs from the fit of the reference window. The model of both fits is T = c * n^d.
+ */
+@Getter
+public final class BigODriftEvent {
+
+    private final String method;
+
+    private final double referenceDegree;
+
+    private final double referenceCoefficient;
+
+    private final double degree;
+
+    private final double coefficient;
+
+    /**
+     * Start and end of the drifted window in milliseconds since epoch
+     */
+    private final long windowStart;
+
+    private final long windowEnd;
+
+    BigODriftEvent(String method, double referenceDegree, double referenceCoefficient, double degree,
+                   double coefficient, long windowStart, long windowEnd) {
+        this.method = method;
+        this.referenceDegree = referenceDegree;
+        this.referenceCoefficient = referenceCoefficient;
+        this.degree = degree;
+        this.coefficient = coefficient;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "DRIFT %s degree %.2f -> %.2f coefficient %.3e -> %.3e", method,
+                referenceDegree, degree, referenceCoefficient, coefficient);
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import lombok.Getter;
+
+/**
+ * This class is an immutable result of the streaming fitter for one method. It is published as a
+ * whole, so readers always see a consistent state while the recording continues.
+ */
+@Getter
+public final class BigOFitSnapshot {
+
+    private final String method;
+
+    /**
+     * Number of samples which have been used for the fit
+     */
+    private final long samples;
+
+    /**
+     * Number of samples which have been dropped, because the ring buffer was full
+     */
+    private final long droppedSamples;
+
+    private final double polynomialDegree;
+
+    private final String bestFunction;
+
+    /**
+     * Time of the fit in milliseconds since epoch
+     */
+    private final long timestamp;
+
+    BigOFitSnapshot(String method, long samples, long droppedSamples, double polynomialDegree,
+                    String bestFunction, long timestamp) {
+        this.method = method;
+        this.samples = samples;
+        this.droppedSamples = droppedSamples;
+        this.polynomialDegree = polynomialDegree;
+        this.bestFunction = bestFunction;
+        this.timestamp = timestamp;
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+/**
+ * This enumeration defines how the analyser treats batches of calls which overlap a garbage
+ * collection. The time of the collection is taken from the GarbageCollectorMXBeans before and
+ * after each batch. Except for IGNORE, the data tables get the column "GC-" + policy with the GC
+ * time per call, so the policy is visible in BigOReports.getDataReport.
+ */
+public enum BigOGcPolicy {
+
+    /**
+     * The time of the garbage collection is part of the measured time (default)
+     */
+    IGNORE {
+        @Override
+        void addBatch(BigOStoppingRule stoppingRule, long batchStartTime, long batchEndTime, long gcTime) {
+            stoppingRule.addBatch(batchStartTime, batchEndTime);
+        }
+    },
+
+    /**
+     * The time of the garbage collection is subtracted from the time of the batch
+     */
+    SUBTRACT {
+        @Override
+        void addBatch(BigOStoppingRule stoppingRule, long batchStartTime, long batchEndTime, long gcTime) {
+            stoppingRule.addBatch(batchStartTime, batchEndTime, gcTime);
+        }
+    },
+
+    /**
+     * The batch is not used as sample of the measurement
+     */
+    REJECT {
+        @Override
+        void addBatch(BigOStoppingRule stoppingRule, long batchStartTime, long batchEndTime, long gcTime) {
+            stoppingRule.rejectBatch(batchStartTime, batchEndTime);
+        }
+    },
+
+    /**
+     * The batch is used as it is, and the time of the garbage collection is reported separately
+     */
+    SEPARATE {
+        @Override
+        void addBatch(BigOStoppingRule stoppingRule, long batchStartTime, long batchEndTime, long gcTime) {
+            stoppingRule.addBatch(batchStartTime, batchEndTime);
+        }
+    };
+
+    /**
+     * Adds a batch which overlaps garbage collections of gcTime nanoseconds, the GC time itself is
+     * set before with BigOStoppingRule.setBatchGcTime
+     */
+    abstract void addBatch(BigOStoppingRule stoppingRule, long batchStartTime, long batchEndTime, long gcTime);
+
+    /**
+     * Get the name of the column with the GC time per call in the data tables
+     */
+    String getColumnName() {
+        return "GC-" + name();
+    }
+
+}
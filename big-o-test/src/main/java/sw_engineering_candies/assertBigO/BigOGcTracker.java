@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * This class finds the garbage collections during a batch of calls. The counters of the
+ * GarbageCollectorMXBeans are read before and after the batch, so the collections are assigned to
+ * the batch without the delay of the GC notifications. The collection time has a resolution of
+ * milliseconds, so a short collection may be reported with zero time.
+ */
+final class BigOGcTracker {
+
+    private static final List<GarbageCollectorMXBean> GARBAGE_COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private long collectionCount = 0L;
+
+    private long collectionTime = 0L;
+
+    void startBatch() {
+        collectionCount = getCollectionCount();
+        collectionTime = getCollectionTime();
+    }
+
+    boolean isCollected() {
+        return getCollectionCount() != collectionCount;
+    }
+
+    /**
+     * Get the time of the collections since the start of the batch in nanoseconds, but not more
+     * than the time of the batch
+     */
+    long getBatchGcTime(long batchTime) {
+        final long result = (getCollectionTime() - collectionTime) * 1000 * 1000L;
+        return Math.max(0L, Math.min(result, batchTime));
+    }
+
+    private static long getCollectionCount() {
+        long result = 0L;
+        for (final GarbageCollectorMXBean collector : GARBAGE_COLLECTORS) {
+            result += Math.max(0L, collector.getCollectionCount());
+        }
+        return result;
+    }
+
+    private static long getCollectionTime() {
+        long result = 0L;
+        for (final GarbageCollectorMXBean collector : GARBAGE_COLLECTORS) {
+            result += Math.max(0L, collector.getCollectionTime());
+        }
+        return result;
+    }
+
+}
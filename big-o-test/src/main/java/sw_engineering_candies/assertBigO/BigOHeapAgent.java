@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package sw_engineering_candies.assertBigO;
+
+import com.google.common.base.Preconditions;
+import com.sun.tools.attach.AgentInitializationException;
+import com.sun.tools.attach.AgentLoadException;
+import com.sun.tools.attach.AttachNotSupportedException;
+import com.sun.tools.attach.VirtualMachine;
+
+import java.io.IOException;
+import java.lang.instrument.Instrumentation;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * This class is the java.lang.instrument agent for the measurement of the retained heap, see
+ * BigOAnalyser.setHeapMeasured. The agent is either started with the JVM, i.e.
+ * <i>-javaagent:big-o-test-1.0.0.jar</i>, or loaded into the running JVM with install(), which
+ * needs the system property <i>-Djdk.attach.allowAttachSelf=true</i>.
+ */
+public final class BigOHeapAgent {
+
+    private static volatile Instrumentation instrumentation;
+
+    private BigOHeapAgent() {
+    }
+
+    public static void premain(String arguments, Instrumentation inst) {
+        instrumentation = inst;
+    }
+
+    public static void agentmain(String arguments, Instrumentation inst) {
+        instrumentation = inst;
+    }
+
+    public static boolean isInstalled() {
+        return instrumentation != null;
+    }
+
+    /**
+     * Loads the agent into the running JVM, in the case it is not yet installed
+     */
+    public static synchronized void install() {
+        if (isInstalled()) {
+            return;
+        }
+        Preconditions.checkState(Boolean.getBoolean("jdk.attach.allowAttachSelf"),
+                "here we need the system property -Djdk.attach.allowAttachSelf=true");
+        try {
+            final Path jar = createAgentJar();
+            final VirtualMachine vm = VirtualMachine.attach(String.valueOf(ProcessHandle.current().pid()));
+            try {
+                vm.loadAgent(jar.toString());
+            } finally {
+                vm.detach();
+                Files.deleteIfExists(jar);
+            }
+        } catch (IOException | AttachNotSupportedException | AgentLoadException | AgentInitializationException e) {
+            throw new IllegalStateException("ERROR in install of agent -> " + e);
+        }
+        Preconditions.checkState(isInstalled(), "agent not loaded by the system class loader");
+    }
+
+    /**
+     * The jar contains just the manifest, the agent class is found on the class path
+     */
+    private static Path createAgentJar() throws IOException {
+        final Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(new Attributes.Name("Agent-Class"), BigOHeapAgent.class.getName());
+        final Path result = Files.createTempFile("big-o-test-agent", ".jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(result), manifest)) {
+            out.flush();
+        }
+        return result;
+    }
+
+    static Instrumentation getInstrumentation() {
+        Preconditions.checkState(isInstalled(), "here we need the agent, see BigOHeapAgent");
+        return instrumentation;
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class stores a histogram of latencies in nanoseconds with fixed memory. Values below 16 are
+ * counted exactly, larger values in logarithmic buckets, i.e. each power of two is split into 16
+ * linear sub-buckets. This gives a relative precision of about 6% (similar to HdrHistogram with one
+ * significant digit). Recording a value does not allocate memory and takes no lock, so a histogram
+ * can be shared by several threads.
+ */
+public class BigOLatencyHistogram {
+
+    /**
+     * Number of bits which are used for the linear sub-buckets
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Largest value which can be stored, greater values are counted as this value (about 18 minutes)
+     */
+    private static final long HIGHEST_TRACKABLE_VALUE = (1L << 40) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(getIndex(HIGHEST_TRACKABLE_VALUE) + 1);
+
+    private final LongAdder totalCount = new LongAdder();
+
+    private final AtomicLong maxValue = new AtomicLong();
+
+    private static int getIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int shift = exponent - SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long getHighestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKET_COUNT - 1;
+        final long subBucket = index % SUB_BUCKET_COUNT;
+        return ((SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Adds a value (in nanoseconds) count times
+     */
+    public void record(long value, long count) {
+        Preconditions.checkArgument(0 <= value, "value must not be negative");
+        final long trackedValue = Math.min(value, HIGHEST_TRACKABLE_VALUE);
+        counts.addAndGet(getIndex(trackedValue), count);
+        totalCount.add(count);
+        maxValue.accumulateAndGet(trackedValue, Math::max);
+    }
+
+    /**
+     * Adds all values of another histogram
+     */
+    public void add(BigOLatencyHistogram other) {
+        for (int index = 0; index < counts.length(); index++) {
+            final long count = other.counts.get(index);
+            if (count != 0) {
+                counts.addAndGet(index, count);
+            }
+        }
+        totalCount.add(other.totalCount.sum());
+        maxValue.accumulateAndGet(other.maxValue.get(), Math::max);
+    }
+
+    public void reset() {
+        for (int index = 0; index < counts.length(); index++) {
+            counts.set(index, 0L);
+        }
+        totalCount.reset();
+        maxValue.set(0L);
+    }
+
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    /**
+     * Get the values and counts of the non-empty buckets in ascending order, i.e. {values, counts}.
+     * The value of a bucket is its highest equivalent value, but at most the maximum.
+     */
+    long[][] getBuckets() {
+        final long max = getMaxValue();
+        int numberOfBuckets = 0;
+        final long[] values = new long[counts.length()];
+        final long[] bucketCounts = new long[counts.length()];
+        for (int index = 0; index < counts.length(); index++) {
+            final long count = counts.get(index);
+            if (count > 0) {
+                values[numberOfBuckets] = Math.min(getHighestEquivalentValue(index), max);
+                bucketCounts[numberOfBuckets] = count;
+                numberOfBuckets++;
+            }
+        }
+        return new long[][]{Arrays.copyOf(values, numberOfBuckets), Arrays.copyOf(bucketCounts, numberOfBuckets)};
+    }
+
+    /**
+     * Get the smallest value for which the given percentage (0..100) of all values is lower or equal
+     * (within the precision of the buckets)
+     */
+    public long getValueAtPercentile(double percentile) {
+        Preconditions.checkArgument(0.0 <= percentile && percentile <= 100.0, "percentile must be in range [0, 100]");
+        final long total = getTotalCount();
+        final long max = getMaxValue();
+        if (total == 0) {
+            return 0L;
+        }
+        final long countAtPercentile = Math.max(1L, (long) Math.ceil(percentile / 100.0 * total));
+        long count = 0L;
+        for (int index = 0; index < counts.length(); index++) {
+            count += counts.get(index);
+            if (count >= countAtPercentile) {
+                return Math.min(getHighestEquivalentValue(index), max);
+            }
+        }
+        return max;
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class stores the measured data points of one method. The lookup of a data point is lock-free,
+ * and the keys are kept in the order of the first measurement, so the rows of the data table do not
+ * depend on hashing.
+ */
+final class BigOMeasurementIndex {
+
+    private final Map<BigOMeasurementKey, BigODataPoint> points = new ConcurrentHashMap<>();
+
+    private final List<BigOMeasurementKey> keys = new CopyOnWriteArrayList<>();
+
+    /**
+     * Get the data point of the key, a new data point is created for the first measurement. The key
+     * may be a lookup key (see BigOParameterPlan.getLookupKey), only a copy of it is stored.
+     */
+    BigODataPoint getOrCreate(BigOMeasurementKey key) {
+        final BigODataPoint point = points.get(key);
+        if (point != null) {
+            return point;
+        }
+        final BigOMeasurementKey newKey = key.copy();
+        final BigODataPoint newPoint = new BigODataPoint();
+        final BigODataPoint existingPoint = points.putIfAbsent(newKey, newPoint);
+        if (existingPoint != null) {
+            return existingPoint;
+        }
+        keys.add(newKey);
+        return newPoint;
+    }
+
+    BigODataPoint get(BigOMeasurementKey key) {
+        return points.get(key);
+    }
+
+    /**
+     * Keys in the order of the first measurement
+     */
+    List<BigOMeasurementKey> getKeys() {
+        return keys;
+    }
+
+}
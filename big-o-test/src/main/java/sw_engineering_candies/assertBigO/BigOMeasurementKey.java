@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import java.util.Arrays;
+
+/**
+ * This class is the key of one measured data point, i.e. the method and the sizes of all parameters
+ * with the annotation @BigOParameter. The string form follows the convention:
+ * <i>[method name]#[first size]#[second size]...#[last size]</i>. The keys of the index are never
+ * changed, only the lookup key of a thread (see BigOParameterPlan.getLookupKey) is reused per call.
+ */
+final class BigOMeasurementKey {
+
+    private final String method;
+
+    private final long[] sizes;
+
+    private int hash;
+
+    /**
+     * The array of sizes is not copied, so it must not be changed by the caller
+     */
+    BigOMeasurementKey(String method, long[] sizes) {
+        this.method = method;
+        this.sizes = sizes;
+        this.hash = 31 * method.hashCode() + Arrays.hashCode(sizes);
+    }
+
+    /**
+     * Sets the size of a lookup key, the hash is valid again after the call of updateHash
+     */
+    void setSize(int index, long size) {
+        sizes[index] = size;
+    }
+
+    void updateHash() {
+        hash = 31 * method.hashCode() + Arrays.hashCode(sizes);
+    }
+
+    /**
+     * Copy of a lookup key, which can be stored in the index
+     */
+    BigOMeasurementKey copy() {
+        return new BigOMeasurementKey(method, sizes.clone());
+    }
+
+    /**
+     * Parses the string form of a key, returns null if the text is not a valid key
+     */
+    static BigOMeasurementKey parse(String text) {
+        final String[] splitKey = text.split("#");
+        final long[] sizes = new long[splitKey.length - 1];
+        try {
+            for (int i = 0; i < sizes.length; i++) {
+                sizes[i] = Long.parseLong(splitKey[i + 1]);
+            }
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+        return new BigOMeasurementKey(splitKey[0], sizes);
+    }
+
+    String getMethod() {
+        return method;
+    }
+
+    int getNumberOfSizes() {
+        return sizes.length;
+    }
+
+    long getSize(int index) {
+        return sizes[index];
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof BigOMeasurementKey key)) {
+            return false;
+        }
+        return hash == key.hash && method.equals(key.method) && Arrays.equals(sizes, key.sizes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder(method);
+        for (final long size : sizes) {
+            result.append('#').append(size);
+        }
+        return result.toString();
+    }
+
+}
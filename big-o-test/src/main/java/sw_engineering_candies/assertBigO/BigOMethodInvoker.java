@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * This class invokes the original implementation of a proxied method. The proceed method is
+ * converted once into a type-exact method handle, so that the measurement loop does not pay for
+ * the access checks and the argument handling of the reflective call on each repetition.
+ */
+final class BigOMethodInvoker {
+
+    private final MethodHandle handle;
+
+    BigOMethodInvoker(Method proceed) {
+        this.handle = createHandle(proceed);
+    }
+
+    private static MethodHandle createHandle(Method proceed) {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle result;
+        try {
+            result = lookup.unreflect(proceed);
+        } catch (final IllegalAccessException e) {
+            // e.g. the proxied class is not public, fall back to suppressed access checks
+            proceed.setAccessible(true);
+            try {
+                result = lookup.unreflect(proceed);
+            } catch (final IllegalAccessException e2) {
+                throw new IllegalStateException("ERROR in create invoker -> " + e2.getMessage());
+            }
+        }
+
+        // (proxy, p1, ..., pn) -> r  is adapted to  (Object, Object[]) -> Object
+        final int parameterCount = proceed.getParameterCount();
+        return result.asType(MethodType.genericMethodType(parameterCount + 1))
+                .asSpreader(Object[].class, parameterCount);
+    }
+
+    /**
+     * Calls the original implementation, exceptions of the called method are not wrapped.
+     */
+    Object invoke(Object self, Object[] args) throws Throwable {
+        return (Object) handle.invokeExact(self, args);
+    }
+
+}
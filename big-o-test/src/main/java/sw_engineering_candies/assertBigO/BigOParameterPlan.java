@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import com.google.common.base.Preconditions;
+import sw_engineering_candies.assertBigO.interfaces.BigOParameter;
+import sw_engineering_candies.assertBigO.interfaces.BigOSizeExtractor;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.ToLongFunction;
+
+/**
+ * This class is the immutable size-extraction plan of one method. It is created once per method and
+ * lists the indices of the parameters with the annotation @BigOParameter together with a size
+ * extractor for the type of each parameter. So the proxy neither scans the annotations nor compares
+ * type names per call.
+ */
+final class BigOParameterPlan {
+
+    /**
+     * Name of the method, or name and erased signature in the case the method is overloaded
+     */
+    private final String methodId;
+
+    /**
+     * Name and erased signature of the method, e.g. <i>sort(java.util.List)</i>
+     */
+    private final String signature;
+
+    /**
+     * Indices of the parameters with the annotation @BigOParameter
+     */
+    private final int[] indices;
+
+    private final List<ToLongFunction<Object>> extractors;
+
+    /**
+     * Key of each thread, which is reused for the lookup of the data point per call
+     */
+    private final ThreadLocal<BigOMeasurementKey> lookupKey;
+
+    BigOParameterPlan(Method method, Class<?> type) {
+        this.methodId = createMethodId(method, type);
+        this.signature = getSignature(method);
+        final Class<?>[] classes = method.getParameterTypes();
+        final Type[] types = method.getGenericParameterTypes();
+        final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        final List<Integer> annotated = new ArrayList<>();
+        final List<ToLongFunction<Object>> sizeExtractors = new ArrayList<>();
+        for (int index = 0; index < parameterAnnotations.length; index++) {
+            for (final Annotation annotation : parameterAnnotations[index]) {
+                if (annotation instanceof BigOParameter parameter) {
+                    annotated.add(index);
+                    sizeExtractors.add(createExtractor(method, parameter, classes[index], types[index]));
+                }
+            }
+        }
+        this.indices = annotated.stream().mapToInt(Integer::intValue).toArray();
+        this.extractors = List.copyOf(sizeExtractors);
+        this.lookupKey = ThreadLocal.withInitial(() -> new BigOMeasurementKey(methodId, new long[indices.length]));
+    }
+
+    String getMethodId() {
+        return methodId;
+    }
+
+    String getSignature() {
+        return signature;
+    }
+
+    /**
+     * Creates the identity of a method as used in the measurements. It is the plain name, e.g.
+     * <i>sort</i>, as long as the class (or one of its super classes) has no other method with the
+     * same name. The methods of an overloaded name get the erased signature, e.g.
+     * <i>sort(java.util.List)</i> and <i>sort(int[])</i>.
+     */
+    static String createMethodId(Method method, Class<?> type) {
+        return isOverloaded(method, type) ? getSignature(method) : method.getName();
+    }
+
+    static String getSignature(Method method) {
+        final StringJoiner result = new StringJoiner(",", method.getName() + "(", ")");
+        for (final Class<?> parameterType : method.getParameterTypes()) {
+            result.add(parameterType.getTypeName());
+        }
+        return result.toString();
+    }
+
+    private static boolean isOverloaded(Method method, Class<?> type) {
+        for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+            for (final Method other : clazz.getDeclaredMethods()) {
+                if (!other.isBridge() && !other.isSynthetic() && other.getName().equals(method.getName())
+                        && !Arrays.equals(other.getParameterTypes(), method.getParameterTypes())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Number of parameters with the annotation @BigOParameter
+     */
+    int getNumberOfSizes() {
+        return indices.length;
+    }
+
+    /**
+     * Size of the i-th parameter with the annotation @BigOParameter
+     */
+    long getSize(int i, Object[] args) {
+        return extractors.get(i).applyAsLong(args[indices[i]]);
+    }
+
+    /**
+     * Key of the arguments without allocation. The key belongs to the current thread and is changed
+     * by the next call, so it may be used only for lookups (see BigOMeasurementIndex.getOrCreate).
+     */
+    BigOMeasurementKey getLookupKey(Object[] args) {
+        final BigOMeasurementKey key = lookupKey.get();
+        for (int i = 0; i < indices.length; i++) {
+            key.setSize(i, getSize(i, args));
+        }
+        key.updateHash();
+        return key;
+    }
+
+    /**
+     * Size of the first parameter with the annotation @BigOParameter, or -1 if there is none
+     */
+    long getFirstSize(Object[] args) {
+        return (indices.length > 0) ? getSize(0, args) : -1L;
+    }
+
+    private static ToLongFunction<Object> createExtractor(final Method method, final BigOParameter parameter,
+                                                          final Class<?> type, final Type parameterType) {
+        Preconditions.checkState(parameter.scale() > 0.0, "scale must be positive for method " + method.getName());
+
+        final ToLongFunction<Object> result;
+        if (!parameter.size().isEmpty()) {
+            result = createSizeAccessor(method, type, parameter.size());
+        } else if (parameter.extractor() != BigOSizeExtractor.class) {
+            result = createExtractor(method, parameter.extractor());
+        } else {
+            result = createExtractor(method, type, parameterType);
+        }
+
+        final double scale = parameter.scale();
+        return (scale == 1.0) ? result : argument -> Math.round(scale * result.applyAsLong(argument));
+    }
+
+    private static ToLongFunction<Object> createExtractor(final Method method, final Class<?> type,
+                                                          final Type parameterType) {
+        final ToLongFunction<Object> result = BigOSizeExtractors.get(type);
+        if (result != null) {
+            return result;
+        }
+
+        // the error is reported at the first call, like for all other problems of the call
+        final String message = "Not supported data type '" + parameterType + "' for method " + method.getName();
+        return argument -> {
+            throw new IllegalStateException(message);
+        };
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static ToLongFunction<Object> createExtractor(final Method method,
+                                                          final Class<? extends BigOSizeExtractor> type) {
+        final BigOSizeExtractor<Object> extractor;
+        try {
+            extractor = type.getDeclaredConstructor().newInstance();
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Not supported extractor '" + type.getName() + "' for method " +
+                    method.getName() + " -> " + e);
+        }
+        return extractor::getSize;
+    }
+
+    /**
+     * The accessor is called with a method handle, the result is converted to long (e.g. from int)
+     */
+    private static ToLongFunction<Object> createSizeAccessor(final Method method, final Class<?> type,
+                                                             final String name) {
+        final MethodHandle handle;
+        try {
+            final MethodHandle accessor = MethodHandles.publicLookup().unreflect(type.getMethod(name));
+            handle = MethodHandles.explicitCastArguments(accessor, MethodType.methodType(long.class, Object.class));
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalStateException("Not supported size accessor '" + name + "' of type '" + type.getName() +
+                    "' for method " + method.getName());
+        }
+        return argument -> {
+            try {
+                return (long) handle.invokeExact(argument);
+            } catch (final Throwable e) {
+                throw new IllegalStateException("ERROR in size accessor '" + name + "' -> " + e);
+            }
+        };
+    }
+
+}
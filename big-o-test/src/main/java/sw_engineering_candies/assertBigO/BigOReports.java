@@ -34,8 +34,9 @@ package sw_engineering_candies.assertBigO;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Table;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
-import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -49,6 +50,11 @@ public class BigOReports {
      */
     private static final String NL = System.getProperty("line.separator");
 
+    /**
+     * Order of the measured columns in the data report (after the columns of the sizes)
+     */
+    private static final List<String> VALUE_COLUMNS = List.of("TIME", "CPU", "ALLOC", "HEAP", "P50", "P90", "P99", "MAX");
+
     public static String getPolynomialDegree(final Table<Integer, String, Double> input) {
         // try to find all the fits
         final Double degree = BigOAnalyser.estimatePolynomialDegree(input);
@@ -58,6 +64,18 @@ public class BigOReports {
                 String.format(Locale.US, "%.4f", degree) + NL;
     }
 
+    public static String getLatestFitReport(final BigOFitSnapshot snapshot) {
+        // check preconditions
+        Preconditions.checkNotNull(snapshot);
+
+        // print result
+        return "LATEST-FIT" + NL +
+                "SAMPLES\tDROPPED\tESTIMATED-POLYNOMIAL-DEGREE" + NL +
+                snapshot.getSamples() + "\t" + snapshot.getDroppedSamples() + "\t" +
+                String.format(Locale.US, "%.4f", snapshot.getPolynomialDegree()) + NL +
+                snapshot.getBestFunction() + NL;
+    }
+
     public static String getBestFunction(final Table<Integer, String, Double> input) {
         // try to find all the fits
         final BigOFittingResults functions = BigOAnalyser.calculateBestFittingFunctions(input);
@@ -85,13 +103,25 @@ public class BigOReports {
         Preconditions.checkNotNull(input);
         Preconditions.checkArgument(!input.column("N1").isEmpty(), "expect a column N1 with data");
 
+        // columns of the table, first the sizes N1...Nk and then the measured values
+        final List<String> cols = new ArrayList<>();
+        for (int i = 1; input.containsColumn("N" + i); i++) {
+            cols.add("N" + i);
+        }
+        for (final String col : VALUE_COLUMNS) {
+            if (input.containsColumn(col)) {
+                cols.add(col);
+            }
+        }
+        for (final String col : input.columnKeySet()) {
+            if (!cols.contains(col)) {
+                cols.add(col);
+            }
+        }
+
         // header of the table
         final StringBuilder result = new StringBuilder(1000);
-        final Set<String> cols = input.columnKeySet();
-        for (int i = 1; i < cols.size(); i++) {
-            result.append("N").append(i).append("\t");
-        }
-        result.append("TIME").append(NL);
+        result.append(String.join("\t", cols)).append(NL);
 
         // values of the table
         final SortedSet<Double> rows = new TreeSet<>(input.column("N1").values());
@@ -105,10 +135,10 @@ public class BigOReports {
                 }
             }
             // add values to result
-            for (int col = 1; col < cols.size(); col++) {
-                result.append(String.format(Locale.US, "%.0f", input.get(row, "N" + col))).append("\t");
+            for (int col = 0; col < cols.size(); col++) {
+                result.append(String.format(Locale.US, "%.0f", input.get(row, cols.get(col))));
+                result.append((col < cols.size() - 1) ? "\t" : NL);
             }
-            result.append(String.format(Locale.US, "%.0f", input.get(row, "TIME"))).append(NL);
         }
         return result.toString();
     }
@@ -3,16 +3,35 @@ package sw_engineering_candies.assertBigO;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Table;
 
-import java.util.Set;
+import java.util.List;
+import java.util.function.IntFunction;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 
 public class BigOResult {
 
+    /**
+     * Without JFR the warmup has settled, if the compilation time of a round is below this part of
+     * the round
+     */
+    private static final double SETTLED_COMPILATION_PART = 0.02;
+
+    private static final int MAXIMAL_WARMUP_ROUNDS = 5;
+
+    /**
+     * Measurements which overlap a deoptimization are measured again at most this number of times
+     */
+    private static final int MAXIMAL_REMEASUREMENT_ROUNDS = 3;
+
     private final BigOAnalyser boa;
 
     private final Class<?> clazzUnderTest;
 
+    private int warmupRounds = 0;
+
+    private int discardedMeasurements = 0;
+
     BigOResult(Class<?> clazzUnderTest, BigOAnalyser boa) {
         Preconditions.checkNotNull(boa);
         Preconditions.checkNotNull(clazzUnderTest);
@@ -25,6 +44,14 @@ public class BigOResult {
         return boa;
     }
 
+    /**
+     * Executes the action with deactivated measurement until the JIT compiler has settled. With JFR
+     * a warmup round has settled, if no new compilation of a method of the class was recorded
+     * during the round. Without JFR the compilation time of the whole JVM has to be below 2% of the
+     * round (JFR itself keeps the compiler busy, so this signal is only used without it). Then the
+     * action is executed with activated measurement. The data points of measurements that overlap
+     * a deoptimization of a method of the class are reset, and the action is executed again.
+     */
     public <P> BigOResult execute(BigOTestAction<P> action) {
 
         Preconditions.checkNotNull(action);
@@ -32,30 +59,120 @@ public class BigOResult {
 
         @SuppressWarnings("unchecked") final P sut = (P) this.boa.createProxy(clazzUnderTest);
 
-        // give JIT compiler the chance to optimize
-        this.boa.deactivate();
-        action.apply(sut);
+        try (BigOCompilationMonitor monitor = new BigOCompilationMonitor(clazzUnderTest)) {
+
+            // give JIT compiler the chance to optimize
+            this.boa.deactivate();
+            warmupRounds = 0;
+            boolean isSettled = false;
+            long compilations = monitor.getCompilations();
+            while (!isSettled && warmupRounds < MAXIMAL_WARMUP_ROUNDS) {
+                final long compilationTime = monitor.getCompilationTime();
+                final long startTime = System.nanoTime();
+                action.apply(sut);
+                final double roundTime = (System.nanoTime() - startTime) / 1000000.0;
+                warmupRounds++;
+                if (monitor.isRecording()) {
+                    final long compilationsAfterRound = monitor.getCompilations();
+                    isSettled = compilationsAfterRound == compilations;
+                    compilations = compilationsAfterRound;
+                } else {
+                    isSettled = monitor.getCompilationTime() - compilationTime <= SETTLED_COMPILATION_PART * roundTime;
+                }
+            }
+
+            // here the measurement starts
+            this.boa.activate();
+            measure(action, sut, monitor);
+
+            // samples measured across a deoptimization are not representative, so they are measured again
+            discardedMeasurements = 0;
+            List<BigOMeasurementKey> deoptimized = monitor.getDeoptimizedMeasurements();
+            for (int round = 0; !deoptimized.isEmpty() && round < MAXIMAL_REMEASUREMENT_ROUNDS; round++) {
+                for (final BigOMeasurementKey key : deoptimized) {
+                    this.boa.resetMeasurement(key);
+                    discardedMeasurements++;
+                }
+                measure(action, sut, monitor);
+                deoptimized = monitor.getDeoptimizedMeasurements();
+            }
+        }
+
+        return this;
+    }
+
+    private <P> void measure(BigOTestAction<P> action, P sut, BigOCompilationMonitor monitor) {
+        this.boa.setCompilationMonitor(monitor);
+        try {
+            action.apply(sut);
+        } finally {
+            this.boa.setCompilationMonitor(null);
+        }
+    }
+
+    /**
+     * Get the number of executions of the action before the measurement started
+     */
+    public int getWarmupRounds() {
+        return warmupRounds;
+    }
+
+    /**
+     * Get the number of measurements which have been discarded and measured again, because they
+     * overlap a deoptimization
+     */
+    public int getDiscardedMeasurements() {
+        return discardedMeasurements;
+    }
+
+    /**
+     * Executes the action for input sizes chosen by the analyser instead of a hand-coded loop. The
+     * inputs are created by the factory, e.g. (int size) -> createSortInput(size). The sizes are
+     * doubled until the time per call is measurable and then until the time budget (in nanoseconds)
+     * or half of the maximal heap size is reached, and the rest of the budget adds intermediate
+     * sizes where the residuals of the fit are largest.
+     */
+    public <P, I> BigOResult execute(IntFunction<I> inputFactory, BigOSizedTestAction<P, I> action,
+                                     long timeBudget) {
+        final long memoryCeiling = Math.round(Runtime.getRuntime().maxMemory()
+                * BigOSizeScheduler.DEFAULT_MEMORY_CEILING);
+        return execute(inputFactory, action, timeBudget, memoryCeiling);
+    }
+
+    /**
+     * Executes the action for input sizes chosen by the analyser with a memory ceiling (in bytes of
+     * used heap) for the inputs
+     */
+    public <P, I> BigOResult execute(IntFunction<I> inputFactory, BigOSizedTestAction<P, I> action,
+                                     long timeBudget, long memoryCeiling) {
+        Preconditions.checkNotNull(inputFactory);
+        Preconditions.checkNotNull(action);
 
-        // here the measurement starts
-        this.boa.activate();
-        action.apply(sut);
+        @SuppressWarnings("unchecked") final P sut = (P) this.boa.createProxy(clazzUnderTest);
+        new BigOSizeScheduler<>(this.boa, sut, inputFactory, action, timeBudget, memoryCeiling).run();
 
         return this;
     }
 
+    /**
+     * Logs the reports of all analysed methods. The methods are fitted in parallel, but the reports
+     * keep the order of the method names.
+     */
     public void trace(Logger... logs) {
-        Set<String> methodNames = this.boa.getAnalysedMethodNames();
-        StringBuilder message = new StringBuilder();
-        for (String method : methodNames) {
-            message.append("BigOAnalyser for method '").append(method).append("'\n\n");
-            final Table<Integer, String, Double> data = this.boa.getDataChecked(method);
-            message.append(BigOReports.getPolynomialDegree(data)).append('\n');
-            message.append(BigOReports.getBestFunctionsReport(data)).append('\n');
-            message.append(BigOReports.getDataReport(data)).append('\n');
-        }
+        final String message = this.boa.getAnalysedMethodNames().parallelStream()
+                .map(this::getReport)
+                .collect(Collectors.joining());
         if (logs.length == 1) {
-            logs[0].info(message.toString());
+            logs[0].info(message);
         }
     }
 
+    private String getReport(String method) {
+        final Table<Integer, String, Double> data = this.boa.getDataChecked(method);
+        return "BigOAnalyser for method '" + method + "'\n\n" +
+                BigOReports.getPolynomialDegree(data) + '\n' +
+                BigOReports.getBestFunctionsReport(data) + '\n' +
+                BigOReports.getDataReport(this.boa.getLatencyData(method)) + '\n';
+    }
+
 }
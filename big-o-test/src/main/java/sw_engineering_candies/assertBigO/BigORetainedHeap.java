@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package sw_engineering_candies.assertBigO;
+
+import com.google.common.base.Preconditions;
+
+import java.lang.instrument.Instrumentation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class calculates the retained heap of an object, i.e. the sum of the shallow sizes of all
+ * objects which are reachable from the root. Each object is counted once, even if it is referenced
+ * several times. Classes, class loaders, modules and threads are shared infrastructure, so they
+ * are not part of the walk. The packages of the JDK classes are opened with the instrumentation,
+ * e.g. to read the elements of an ArrayList.
+ * <p>
+ * IMPORTANT: An opened package can't be closed again, i.e. it stays open for the reflection of the
+ * assertBigO classes until the JVM ends. Only exported packages are opened, the objects of JDK
+ * internal packages (e.g. jdk.internal.*) are counted with their shallow size, but their fields
+ * are not part of the walk.
+ */
+final class BigORetainedHeap {
+
+    private static final Set<Class<?>> SKIPPED_TYPES = Set.of(Class.class, ClassLoader.class, Module.class,
+            Thread.class);
+
+    /**
+     * Reference fields of each class including the super classes
+     */
+    private static final Map<Class<?>, List<Field>> FIELDS = new ConcurrentHashMap<>();
+
+    private BigORetainedHeap() {
+    }
+
+    static long getRetainedSize(Object root) {
+        final Instrumentation instrumentation = BigOHeapAgent.getInstrumentation();
+        final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<Object> stack = new ArrayDeque<>();
+        long result = 0L;
+        if (root != null) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            final Object current = stack.pop();
+            if (!visited.add(current) || isSkipped(current.getClass())) {
+                continue;
+            }
+            result += instrumentation.getObjectSize(current);
+            final Class<?> clazz = current.getClass();
+            if (clazz.isArray()) {
+                if (!clazz.getComponentType().isPrimitive()) {
+                    for (final Object element : (Object[]) current) {
+                        if (element != null) {
+                            stack.push(element);
+                        }
+                    }
+                }
+            } else {
+                for (final Field field : FIELDS.computeIfAbsent(clazz, type -> getReferenceFields(type, instrumentation))) {
+                    final Object value = getValue(field, current);
+                    if (value != null) {
+                        stack.push(value);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the value of a field of the object or its super classes, e.g. of the system under test
+     */
+    static Object getFieldValue(Object object, String fieldName) {
+        for (Class<?> clazz = object.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            for (final Field field : clazz.getDeclaredFields()) {
+                if (field.getName().equals(fieldName) && !Modifier.isStatic(field.getModifiers())) {
+                    field.setAccessible(true);
+                    return getValue(field, object);
+                }
+            }
+        }
+        throw new IllegalStateException("No field '" + fieldName + "' in " + object.getClass().getName());
+    }
+
+    private static boolean isSkipped(Class<?> clazz) {
+        for (final Class<?> skipped : SKIPPED_TYPES) {
+            if (skipped.isAssignableFrom(clazz)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Field> getReferenceFields(Class<?> clazz, Instrumentation instrumentation) {
+        final List<Field> result = new ArrayList<>();
+        for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+            if (isInternal(current)) {
+                continue;
+            }
+            openPackage(current, instrumentation);
+            for (final Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+                    field.setAccessible(true);
+                    result.add(field);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Packages which are not exported are internals of their module, e.g. jdk.internal.misc
+     */
+    private static boolean isInternal(Class<?> clazz) {
+        return !clazz.getModule().isExported(clazz.getPackageName());
+    }
+
+    /**
+     * Opens the package permanently, because the instrumentation has no way to revert it
+     */
+    private static void openPackage(Class<?> clazz, Instrumentation instrumentation) {
+        final Module module = clazz.getModule();
+        final Module reader = BigORetainedHeap.class.getModule();
+        final String packageName = clazz.getPackageName();
+        if (!module.isOpen(packageName, reader) && instrumentation.isModifiableModule(module)) {
+            instrumentation.redefineModule(module, Set.of(), Map.of(), Map.of(packageName, Set.of(reader)),
+                    Set.of(), Map.of());
+        }
+        Preconditions.checkState(module.isOpen(packageName, reader), "package " + packageName + " is not open");
+    }
+
+    private static Object getValue(Field field, Object object) {
+        try {
+            return field.get(object);
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException("ERROR in access of field -> " + e);
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is a bounded, lock-free ring buffer for (size, time) samples with many producers (the
+ * threads which call the proxy) and a single consumer (the streaming fitter). The slots carry a
+ * sequence number like in the bounded queue of Dmitry Vyukov. In the case the buffer is full, the
+ * sample is dropped and counted, so a producer never waits.
+ */
+final class BigOSampleRingBuffer {
+
+    private final int mask;
+
+    private final long[] sizes;
+
+    private final long[] times;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Only changed by the consumer
+     */
+    private long head = 0L;
+
+    BigOSampleRingBuffer(int capacity) {
+        final int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        mask = size - 1;
+        sizes = new long[size];
+        times = new long[size];
+        sequences = new AtomicLongArray(size);
+        for (int index = 0; index < size; index++) {
+            sequences.set(index, index);
+        }
+    }
+
+    /**
+     * Adds a sample, returns false in the case the buffer is full and the sample was dropped
+     */
+    boolean offer(long size, long time) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) (position & mask);
+            final long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (difference < 0) {
+                dropped.increment();
+                return false;
+            }
+        }
+        sizes[index] = size;
+        times[index] = time;
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Moves all published samples to the buckets and returns the number of moved samples (must be
+     * called by one consumer thread only)
+     */
+    int drainTo(BigOSizeBuckets... targets) {
+        int count = 0;
+        while (true) {
+            final int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                return count;
+            }
+            for (final BigOSizeBuckets buckets : targets) {
+                buckets.add(sizes[index], times[index]);
+            }
+            sequences.set(index, head + mask + 1);
+            head++;
+            count++;
+        }
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Range;
+import com.google.common.collect.Table;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class decides the polynomial degree of one method while it is measured. After each new size
+ * the confidence interval of the degree is estimated again. As soon as the interval lies entirely
+ * inside or entirely outside of expected +/- delta the verdict is certain and the remaining calls
+ * of the method are executed once without measurement. Because the verdict is checked at each new
+ * size, the error probability is spent over the checks: the k-th check uses alpha / (k * (k + 1)),
+ * so all checks together keep the error probability alpha of the confidence level.
+ */
+final class BigOSequentialTest {
+
+    enum Verdict {UNDECIDED, INSIDE, OUTSIDE}
+
+    /**
+     * Minimal number of sizes for the first estimate of the confidence interval
+     */
+    private static final int MINIMAL_NUMBER_OF_SIZES = 4;
+
+    private final double expected;
+
+    private final double delta;
+
+    private final double confidenceLevel;
+
+    private final Range<Double> expectedRange;
+
+    private volatile Verdict verdict = Verdict.UNDECIDED;
+
+    private volatile Range<Double> interval = null;
+
+    private volatile int numberOfSizes = 0;
+
+    /**
+     * Number of estimates of the confidence interval so far
+     */
+    private int numberOfChecks = 0;
+
+    private final LongAdder skippedCalls = new LongAdder();
+
+    BigOSequentialTest(double expected, double delta, double confidenceLevel) {
+        Preconditions.checkArgument(0.0 <= expected);
+        Preconditions.checkArgument(0.0 <= delta);
+        Preconditions.checkArgument(0.0 < confidenceLevel && confidenceLevel < 1.0,
+                "confidence level must be between 0 and 1");
+
+        this.expected = expected;
+        this.delta = delta;
+        this.confidenceLevel = confidenceLevel;
+        this.expectedRange = Range.closed(expected - delta, expected + delta);
+    }
+
+    /**
+     * Updates the estimate with all measured data of the method, called after the first measurement
+     * of each new size
+     */
+    synchronized void update(Table<Integer, String, Double> data) {
+        final int sizes = data.rowKeySet().size();
+        if (verdict != Verdict.UNDECIDED || sizes == numberOfSizes || sizes < MINIMAL_NUMBER_OF_SIZES) {
+            return;
+        }
+        numberOfSizes = sizes;
+        numberOfChecks++;
+        final double alpha = (1.0 - confidenceLevel) / ((double) numberOfChecks * (numberOfChecks + 1));
+        final Range<Double> result = BigOAnalyser.estimatePolynomialDegreeInterval(data, 1.0 - alpha);
+        interval = result;
+        if (expectedRange.encloses(result)) {
+            verdict = Verdict.INSIDE;
+        } else if (!expectedRange.isConnected(result)) {
+            verdict = Verdict.OUTSIDE;
+        }
+    }
+
+    boolean isDecided() {
+        return verdict != Verdict.UNDECIDED;
+    }
+
+    void skipCall() {
+        skippedCalls.increment();
+    }
+
+    Verdict getVerdict() {
+        return verdict;
+    }
+
+    /**
+     * Get the last estimated confidence interval of the polynomial degree, null before the first
+     * estimate. It is wider than a single interval of the confidence level, see alpha spending above.
+     */
+    Range<Double> getInterval() {
+        return interval;
+    }
+
+    int getNumberOfSizes() {
+        return numberOfSizes;
+    }
+
+    long getSkippedCalls() {
+        return skippedCalls.sum();
+    }
+
+    double getExpected() {
+        return expected;
+    }
+
+    double getDelta() {
+        return delta;
+    }
+
+    double getConfidenceLevel() {
+        return confidenceLevel;
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import com.google.common.collect.Table;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class collects sampled calls of one method in the production mode. The samples are added to
+ * preallocated buckets, one for each power of two of the size (first parameter marked with
+ * the annotation @BigOParameter). Each bucket stores the number of samples and the sums of size and
+ * time, so adding a sample is lock-free and does not allocate memory.
+ */
+final class BigOSizeBuckets {
+
+    private static final int NUMBER_OF_BUCKETS = 64;
+
+    private final AtomicLongArray counts = new AtomicLongArray(NUMBER_OF_BUCKETS);
+
+    private final AtomicLongArray sizes = new AtomicLongArray(NUMBER_OF_BUCKETS);
+
+    private final AtomicLongArray times = new AtomicLongArray(NUMBER_OF_BUCKETS);
+
+    /**
+     * Bucket 0 contains size 0, bucket k contains the sizes 2^(k-1) ... 2^k - 1
+     */
+    private static int getBucket(long size) {
+        return NUMBER_OF_BUCKETS - Long.numberOfLeadingZeros(Math.max(0L, size));
+    }
+
+    void add(long size, long time) {
+        final int bucket = getBucket(size);
+        sizes.addAndGet(bucket, size);
+        times.addAndGet(bucket, time);
+        counts.incrementAndGet(bucket);
+    }
+
+    /**
+     * Adds one row with the columns N1 (mean size) and TIME for each non-empty bucket after the row
+     * rowIndex and returns the last used row index. Bucket 0 is left out, because the fitters need
+     * the logarithm of the size.
+     */
+    int putRows(Table<Integer, String, Double> table, int rowIndex) {
+        int result = rowIndex;
+        for (int bucket = 1; bucket < NUMBER_OF_BUCKETS; bucket++) {
+            if (counts.get(bucket) > 0) {
+                result++;
+                table.put(result, "N1", getSize(bucket));
+                table.put(result, "TIME", getTime(bucket));
+            }
+        }
+        return result;
+    }
+
+    long getTotalCount() {
+        long result = 0L;
+        for (int bucket = 0; bucket < NUMBER_OF_BUCKETS; bucket++) {
+            result += counts.get(bucket);
+        }
+        return result;
+    }
+
+    long getCount(int bucket) {
+        return counts.get(bucket);
+    }
+
+    /**
+     * Mean size of all samples in the bucket
+     */
+    double getSize(int bucket) {
+        final long count = counts.get(bucket);
+        return (count > 0) ? (double) sizes.get(bucket) / count : 0.0;
+    }
+
+    /**
+     * Mean time per call of all samples in the bucket
+     */
+    double getTime(int bucket) {
+        final long count = counts.get(bucket);
+        return (count > 0) ? (double) times.get(bucket) / count : 0.0;
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import sw_engineering_candies.assertBigO.interfaces.BigOSizeExtractor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.function.ToLongFunction;
+
+/**
+ * This class finds the size extractor of a parameter type. The extractors of the ServiceLoader are
+ * checked first, then the built-in extractors and arrays. The result is cached per type.
+ */
+final class BigOSizeExtractors {
+
+    /**
+     * Built-in extractors, a more specific type has to be listed before a more general type
+     */
+    @SuppressWarnings("rawtypes")
+    private static final List<BigOSizeExtractor<?>> BUILT_IN = List.of(
+            create(int.class, Integer::longValue),
+            create(long.class, Long::longValue),
+            create(CharSequence.class, CharSequence::length),
+            create(Collection.class, Collection::size),
+            create(Map.class, Map::size),
+            create(Iterable.class, BigOSizeExtractors::count),
+            create(ByteBuffer.class, ByteBuffer::remaining),
+            create(Path.class, BigOSizeExtractors::getNumberOfBytes),
+            create(File.class, File::length),
+            create(Optional.class, value -> value.isPresent() ? 1L : 0L));
+
+    private static final List<BigOSizeExtractor<?>> EXTRACTORS = loadExtractors();
+
+    /**
+     * The extractor of each type, or null in the case the type is not supported
+     */
+    private static final ClassValue<ToLongFunction<Object>> CACHE = new ClassValue<>() {
+        @Override
+        protected ToLongFunction<Object> computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    private BigOSizeExtractors() {
+    }
+
+    /**
+     * Get the extractor of the type, or null in the case the type is not supported
+     */
+    static ToLongFunction<Object> get(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ToLongFunction<Object> resolve(Class<?> type) {
+        for (final BigOSizeExtractor<?> extractor : EXTRACTORS) {
+            if (extractor.getType().isAssignableFrom(type)) {
+                final BigOSizeExtractor<Object> found = (BigOSizeExtractor<Object>) extractor;
+                return found::getSize;
+            }
+        }
+        if (type.isArray()) {
+            if (type.getComponentType().isArray()) {
+                // two-dimensional arrays have rows x columns elements (of the first row)
+                return value -> {
+                    final Object[] rows = (Object[]) value;
+                    return (rows.length == 0) ? 0L : (long) rows.length * Array.getLength(rows[0]);
+                };
+            }
+            return Array::getLength;
+        }
+        return null;
+    }
+
+    private static List<BigOSizeExtractor<?>> loadExtractors() {
+        final List<BigOSizeExtractor<?>> result = new ArrayList<>();
+        for (final BigOSizeExtractor<?> extractor : ServiceLoader.load(BigOSizeExtractor.class)) {
+            result.add(extractor);
+        }
+        result.addAll(BUILT_IN);
+        return List.copyOf(result);
+    }
+
+    private static <T> BigOSizeExtractor<T> create(Class<T> type, ToLongFunction<T> size) {
+        return new BigOSizeExtractor<>() {
+            @Override
+            public Class<T> getType() {
+                return type;
+            }
+
+            @Override
+            public long getSize(T value) {
+                return size.applyAsLong(value);
+            }
+        };
+    }
+
+    private static long count(Iterable<?> values) {
+        long result = 0;
+        for (final Object ignored : values) {
+            result++;
+        }
+        return result;
+    }
+
+    private static long getNumberOfBytes(Path path) {
+        try {
+            return Files.size(path);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import com.google.common.base.Preconditions;
+import sw_engineering_candies.assertBigO.math.FitterPolynomial;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+/**
+ * This class chooses the input sizes of a measurement. First the size is doubled with deactivated
+ * and short measurements until the time per call is measurable (these probes also give the JIT
+ * compiler the chance to optimize). Then the size is doubled with activated measurement until
+ * about three quarters of the time budget or the memory ceiling is reached. The memory ceiling is
+ * checked against the used heap, which includes garbage that is not yet collected. The rest of the
+ * budget is used for intermediate sizes between the neighbours with the largest residuals of the
+ * fitted power law, because there the curve is least explained by the data.
+ */
+final class BigOSizeScheduler<P, I> {
+
+    /**
+     * Minimal time per call in nanoseconds to be measurable
+     */
+    private static final long MINIMAL_TIME_PER_CALL = 10 * 1000L;
+
+    /**
+     * Default memory ceiling as part of the maximal heap size
+     */
+    static final double DEFAULT_MEMORY_CEILING = 0.5;
+
+    /**
+     * The time per call has to grow by this factor compared to the fastest probe, otherwise the
+     * overhead of the call dominates
+     */
+    private static final double MINIMAL_GROWTH_OF_TIME_PER_CALL = 10.0;
+
+    /**
+     * Measurement interval of the probes in nanoseconds, they need just the order of magnitude
+     */
+    private static final long PROBE_MEASUREMENT_INTERVAL = 2 * 1000 * 1000L;
+
+    /**
+     * Part of the time budget for the doubling of the sizes, the rest is for intermediate sizes
+     */
+    private static final double DOUBLING_PART_OF_BUDGET = 0.75;
+
+    /**
+     * Below this number of sizes the budget is ignored, because the analysis needs them
+     */
+    private static final int MINIMAL_NUMBER_OF_SIZES = 4;
+
+    private static final int MAXIMAL_NUMBER_OF_SIZES = 24;
+
+    private static final int MAXIMAL_SIZE = 1 << 30;
+
+    private final BigOAnalyser boa;
+
+    private final P sut;
+
+    private final IntFunction<I> inputFactory;
+
+    private final BigOSizedTestAction<P, I> action;
+
+    private final long timeBudget;
+
+    private final long memoryCeiling;
+
+    /**
+     * Time per call and duration of each executed size, sorted by size
+     */
+    private final Map<Integer, Double> timePerCall = new TreeMap<>();
+    private final Map<Integer, Long> duration = new TreeMap<>();
+
+    private long startTime = 0L;
+
+    BigOSizeScheduler(BigOAnalyser boa, P sut, IntFunction<I> inputFactory, BigOSizedTestAction<P, I> action,
+                      long timeBudget, long memoryCeiling) {
+        Preconditions.checkNotNull(boa);
+        Preconditions.checkNotNull(sut);
+        Preconditions.checkNotNull(inputFactory);
+        Preconditions.checkNotNull(action);
+        Preconditions.checkArgument(0 < timeBudget, "time budget must be positive");
+        Preconditions.checkArgument(0 < memoryCeiling, "memory ceiling must be positive");
+
+        this.boa = boa;
+        this.sut = sut;
+        this.inputFactory = inputFactory;
+        this.action = action;
+        this.timeBudget = timeBudget;
+        this.memoryCeiling = memoryCeiling;
+    }
+
+    /**
+     * Executes the action for all chosen sizes and returns them in the order of execution
+     */
+    List<Integer> run() {
+        startTime = System.nanoTime();
+        final long doublingBudget = Math.round(timeBudget * DOUBLING_PART_OF_BUDGET);
+        final List<Integer> result = new ArrayList<>();
+
+        // find the first size with a measurable time per call
+        int size = 1;
+        boa.startProbes(PROBE_MEASUREMENT_INTERVAL);
+        boa.deactivate();
+        try {
+            // the first call includes class loading and the linkage of the proxy
+            execute(size);
+            double fastestTime = Double.MAX_VALUE;
+            while (size < MAXIMAL_SIZE && isMemoryAvailable() && !boa.isMeasurementFinished()) {
+                final long probeStart = System.nanoTime();
+                final double time = execute(size);
+                if (time >= Math.max(MINIMAL_TIME_PER_CALL, MINIMAL_GROWTH_OF_TIME_PER_CALL * fastestTime)
+                        || isExceeded(doublingBudget, 2 * (System.nanoTime() - probeStart))) {
+                    break;
+                }
+                fastestTime = Math.min(fastestTime, time);
+                size *= 2;
+            }
+        } finally {
+            boa.activate();
+            boa.stopProbes();
+        }
+
+        // double the size until the budget or the memory ceiling is reached
+        while (isMemoryAvailable() && !boa.isMeasurementFinished()) {
+            final double time = measure(size);
+            if (Double.isNaN(time)) {
+                break;
+            }
+            timePerCall.put(size, time);
+            result.add(size);
+            if (size == MAXIMAL_SIZE
+                    || result.size() >= MINIMAL_NUMBER_OF_SIZES && isExceeded(doublingBudget, getDoublingDuration())) {
+                break;
+            }
+            size *= 2;
+        }
+
+        // add intermediate sizes where the fit explains the data worst
+        while (timePerCall.size() >= MINIMAL_NUMBER_OF_SIZES && timePerCall.size() < MAXIMAL_NUMBER_OF_SIZES) {
+            final int[] neighbours = getNeighboursWithLargestResiduals();
+            if (neighbours.length == 0 || isExceeded(timeBudget, duration.get(neighbours[1]))
+                    || !isMemoryAvailable() || boa.isMeasurementFinished()) {
+                break;
+            }
+            final int intermediateSize = (int) Math.round(Math.sqrt((double) neighbours[0] * neighbours[1]));
+            final double time = measure(intermediateSize);
+            if (Double.isNaN(time)) {
+                break;
+            }
+            timePerCall.put(intermediateSize, time);
+            result.add(intermediateSize);
+        }
+        return result;
+    }
+
+    /**
+     * Executes the action with activated measurement and stores its duration
+     */
+    private double measure(int size) {
+        final long start = System.nanoTime();
+        final double time = execute(size);
+        duration.put(size, System.nanoTime() - start);
+        return time;
+    }
+
+    /**
+     * Executes the action and returns the time per proxied call, NaN if all calls have been skipped
+     * because of the time budget of the analyser or decided sequential tests
+     */
+    private double execute(int size) {
+        final I input = inputFactory.apply(size);
+        final long time = boa.getTotalTime();
+        final long calls = boa.getTotalCalls();
+        action.apply(sut, input);
+        final long deltaCalls = boa.getTotalCalls() - calls;
+        if (deltaCalls == 0 && boa.isMeasurementFinished()) {
+            return Double.NaN;
+        }
+        Preconditions.checkState(deltaCalls > 0, "the action has to call a method of the proxy");
+        return (double) (boa.getTotalTime() - time) / deltaCalls;
+    }
+
+    /**
+     * The next duration is predicted with the growth of the last two durations
+     */
+    private long getDoublingDuration() {
+        final Long[] durations = duration.values().toArray(new Long[0]);
+        final long last = durations[durations.length - 1];
+        if (durations.length < 2 || durations[durations.length - 2] == 0) {
+            return last;
+        }
+        final double growth = (double) last / durations[durations.length - 2];
+        return Math.round(last * Math.max(1.0, growth));
+    }
+
+    /**
+     * Get the neighbour sizes with the largest sum of absolute residuals of the power law fit and
+     * a size between them, or an empty array if there is no such pair
+     */
+    private int[] getNeighboursWithLargestResiduals() {
+        final int[] sizes = timePerCall.keySet().stream().mapToInt(Integer::intValue).toArray();
+        final double[] x = new double[sizes.length];
+        final double[] y = new double[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            x[i] = Math.log10(sizes[i]);
+            y[i] = Math.log10(Math.max(timePerCall.get(sizes[i]), 1.0));
+        }
+        final FitterPolynomial fitter = new FitterPolynomial();
+        fitter.init(x, y, 1);
+
+        int[] result = new int[0];
+        double largestResiduals = -1.0;
+        for (int i = 1; i < sizes.length; i++) {
+            final int intermediateSize = (int) Math.round(Math.sqrt((double) sizes[i - 1] * sizes[i]));
+            if (intermediateSize <= sizes[i - 1] || intermediateSize >= sizes[i]) {
+                continue;
+            }
+            final double residuals = Math.abs(y[i - 1] - fitter.calculate(x[i - 1]))
+                    + Math.abs(y[i] - fitter.calculate(x[i]));
+            if (residuals > largestResiduals) {
+                largestResiduals = residuals;
+                result = new int[]{sizes[i - 1], sizes[i]};
+            }
+        }
+        return result;
+    }
+
+    private boolean isExceeded(long budget, long predictedDuration) {
+        return System.nanoTime() - startTime + predictedDuration > budget;
+    }
+
+    private boolean isMemoryAvailable() {
+        final Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory() < memoryCeiling;
+    }
+
+}
@@ -0,0 +1,7 @@
+package sw_engineering_candies.assertBigO;
+
+public interface BigOSizedTestAction<T, I> {
+
+    void apply(T t, I input);
+
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import sw_engineering_candies.assertBigO.math.RunningStatistics;
+
+/**
+ * This class decides how often a proxied call is repeated. The calls are executed in batches and
+ * the time per call of each batch is one sample. The samples are collected in consecutive windows
+ * and the measurement is complete as soon as two consecutive windows agree and the relative
+ * standard error of the last window is below the target. This way a drift of the time per call,
+ * e.g. while the JIT compiler replaces interpreted code, is not mistaken for a stable result.
+ */
+final class BigOStoppingRule {
+
+    /**
+     * Minimal duration of one batch of calls in nanoseconds. Shorter batches are not precise enough
+     * because of the resolution and overhead of System.nanoTime(), so the batch size gets doubled.
+     */
+    private static final long MINIMAL_BATCH_INTERVAL = 10 * 1000L;
+
+    /**
+     * Minimal number of batches in a window before the relative standard error is trusted
+     */
+    private static final long MINIMAL_NUMBER_OF_BATCHES = 10;
+
+    /**
+     * The means of two consecutive windows may differ by this multiple of the target
+     */
+    private static final double MAXIMAL_DRIFT_FACTOR = 3.0;
+
+    private final long minimalInterval;
+
+    private final long maximalInterval;
+
+    private final double targetRelativeError;
+
+    private final long windowInterval;
+
+    private long batchSize = 1;
+
+    private long startTime = -1L;
+
+    private long windowStartTime = 0L;
+
+    private long totalTime = 0L;
+
+    private long totalCalls = 0L;
+
+    /**
+     * CPU time of the next batch and of the windows, only in the case it is measured
+     */
+    private long batchCpuTime = 0L;
+
+    private long totalCpuTime = 0L;
+
+    private long previousCpuTime = 0L;
+
+    private long fastestCpuTime = 0L;
+
+    private long currentCpuTime = 0L;
+
+    /**
+     * Allocated bytes of the next batch and of the windows, only in the case they are measured
+     */
+    private long batchAllocatedBytes = 0L;
+
+    private long totalAllocatedBytes = 0L;
+
+    private long previousAllocatedBytes = 0L;
+
+    private long fastestAllocatedBytes = 0L;
+
+    private long currentAllocatedBytes = 0L;
+
+    /**
+     * Garbage collection time of the next batch and of the windows, only in the case it is tracked
+     * (see BigOGcPolicy)
+     */
+    private long batchGcTime = 0L;
+
+    private long totalGcTime = 0L;
+
+    private long previousGcTime = 0L;
+
+    private long fastestGcTime = 0L;
+
+    private long currentGcTime = 0L;
+
+    /**
+     * Time of a single call of the next batch, negative if not measured
+     */
+    private long sampledCallTime = -1L;
+
+    private RunningStatistics previous = null;
+
+    private long previousTime = 0L;
+
+    private long previousCalls = 0L;
+
+    private long fastestTime = 0L;
+
+    private long fastestCalls = 0L;
+
+    private RunningStatistics current = new RunningStatistics();
+
+    private long currentTime = 0L;
+
+    private long currentCalls = 0L;
+
+    private boolean complete = false;
+
+    private boolean isFirstWindow = true;
+
+    /**
+     * Time of single calls, one per batch of all batches but the first window (warm-up)
+     */
+    private final BigOLatencyHistogram histogram = new BigOLatencyHistogram();
+
+    BigOStoppingRule(long minimalInterval, long maximalInterval, double targetRelativeError) {
+        this.minimalInterval = minimalInterval;
+        this.maximalInterval = maximalInterval;
+        this.targetRelativeError = targetRelativeError;
+        this.windowInterval = minimalInterval / 2;
+    }
+
+    /**
+     * Number of calls which should be executed in the next batch
+     */
+    long getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the CPU time of the measuring thread for the next added batch, see BigOTimeSource
+     */
+    void setBatchCpuTime(long cpuTime) {
+        batchCpuTime = cpuTime;
+    }
+
+    /**
+     * Sets the bytes allocated by the measuring thread for the next added batch
+     */
+    void setBatchAllocatedBytes(long allocatedBytes) {
+        batchAllocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Sets the garbage collection time during the next added batch
+     */
+    void setBatchGcTime(long gcTime) {
+        batchGcTime = gcTime;
+    }
+
+    /**
+     * Sets the time of one single call of the next added batch, which is recorded in the histogram
+     * instead of the mean time per call of the batch
+     */
+    void setSampledCallTime(long callTime) {
+        sampledCallTime = callTime;
+    }
+
+    /**
+     * Adds the start and end time (System.nanoTime) of a batch with getBatchSize() calls
+     */
+    void addBatch(long batchStartTime, long batchEndTime) {
+        addBatch(batchStartTime, batchEndTime, 0L);
+    }
+
+    /**
+     * Adds a batch, where the excluded time (e.g. of a garbage collection) is not part of the
+     * measured time. The window boundaries and the intervals still follow the start and end time.
+     */
+    void addBatch(long batchStartTime, long batchEndTime, long excludedTime) {
+        if (startTime < 0) {
+            startTime = batchStartTime;
+            windowStartTime = batchStartTime;
+        }
+        final long batchTime = Math.max(0L, batchEndTime - batchStartTime - excludedTime);
+        totalTime += batchTime;
+        totalCalls += batchSize;
+        totalCpuTime += batchCpuTime;
+        totalAllocatedBytes += batchAllocatedBytes;
+        totalGcTime += batchGcTime;
+
+        // too short batches are dominated by the timer, so they are not used as sample
+        if (batchTime < MINIMAL_BATCH_INTERVAL) {
+            batchSize *= 2;
+        } else {
+            current.add((double) batchTime / batchSize);
+            if (sampledCallTime >= 0) {
+                histogram.record(sampledCallTime, 1);
+            } else {
+                histogram.record(batchTime / batchSize, batchSize);
+            }
+            currentTime += batchTime;
+            currentCalls += batchSize;
+            currentCpuTime += batchCpuTime;
+            currentAllocatedBytes += batchAllocatedBytes;
+            currentGcTime += batchGcTime;
+        }
+        batchCpuTime = 0L;
+        batchAllocatedBytes = 0L;
+        batchGcTime = 0L;
+        sampledCallTime = -1L;
+
+        final long elapsedTime = batchEndTime - startTime;
+        final boolean isWindowComplete = batchEndTime - windowStartTime >= windowInterval
+                && current.getCount() >= MINIMAL_NUMBER_OF_BATCHES;
+        if (isWindowComplete) {
+            if (elapsedTime >= minimalInterval && isSettled()) {
+                complete = true;
+            } else {
+                if (isFirstWindow) {
+                    histogram.reset();
+                    isFirstWindow = false;
+                }
+                if (isFasterThanFastestWindow(currentTime, currentCalls)) {
+                    fastestTime = currentTime;
+                    fastestCalls = currentCalls;
+                    fastestCpuTime = currentCpuTime;
+                    fastestAllocatedBytes = currentAllocatedBytes;
+                    fastestGcTime = currentGcTime;
+                }
+                previous = current;
+                previousTime = currentTime;
+                previousCalls = currentCalls;
+                previousCpuTime = currentCpuTime;
+                previousAllocatedBytes = currentAllocatedBytes;
+                previousGcTime = currentGcTime;
+                current = new RunningStatistics();
+                currentTime = 0L;
+                currentCalls = 0L;
+                currentCpuTime = 0L;
+                currentAllocatedBytes = 0L;
+                currentGcTime = 0L;
+                windowStartTime = batchEndTime;
+            }
+        }
+        if (elapsedTime >= maximalInterval) {
+            complete = true;
+        }
+    }
+
+    /**
+     * Adds a batch which is not used as sample, e.g. because of a garbage collection. The batch
+     * counts for the maximal interval and for the result in the case no window is complete.
+     */
+    void rejectBatch(long batchStartTime, long batchEndTime) {
+        if (startTime < 0) {
+            startTime = batchStartTime;
+            windowStartTime = batchStartTime;
+        }
+        totalTime += batchEndTime - batchStartTime;
+        totalCalls += batchSize;
+        totalCpuTime += batchCpuTime;
+        totalAllocatedBytes += batchAllocatedBytes;
+        totalGcTime += batchGcTime;
+        batchCpuTime = 0L;
+        batchAllocatedBytes = 0L;
+        batchGcTime = 0L;
+        sampledCallTime = -1L;
+        if (batchEndTime - startTime >= maximalInterval) {
+            complete = true;
+        }
+    }
+
+    private boolean isSettled() {
+        if (previous == null || current.getRelativeStandardError() > targetRelativeError) {
+            return false;
+        }
+        final double drift = Math.abs(current.getMean() - previous.getMean()) / current.getMean();
+        return drift <= MAXIMAL_DRIFT_FACTOR * targetRelativeError;
+    }
+
+    private boolean isFasterThanFastestWindow(long time, long calls) {
+        return calls > 0 && (fastestCalls == 0 || (double) time / calls < (double) fastestTime / fastestCalls);
+    }
+
+    boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Histogram of the time of single calls, i.e. one call per batch is timed on its own (see
+     * setSampledCallTime). Only a batch without such a sample adds the mean of the batch.
+     */
+    BigOLatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * Measured time of the last two windows in the case the measurement settled. Otherwise, the
+     * fastest window is taken, because disturbances like other processes or the JIT compiler only
+     * add time. Without any complete window the time of all calls is returned.
+     */
+    long getTime() {
+        return select(currentTime, previousTime, fastestTime, totalTime);
+    }
+
+    /**
+     * Measured CPU time of the same batches as getTime()
+     */
+    long getCpuTime() {
+        return select(currentCpuTime, previousCpuTime, fastestCpuTime, totalCpuTime);
+    }
+
+    /**
+     * Allocated bytes of the same batches as getTime()
+     */
+    long getAllocatedBytes() {
+        return select(currentAllocatedBytes, previousAllocatedBytes, fastestAllocatedBytes, totalAllocatedBytes);
+    }
+
+    /**
+     * Garbage collection time during the same batches as getTime()
+     */
+    long getGcTime() {
+        return select(currentGcTime, previousGcTime, fastestGcTime, totalGcTime);
+    }
+
+    /**
+     * Number of calls which correspond to getTime()
+     */
+    long getCalls() {
+        return select(currentCalls, previousCalls, fastestCalls, totalCalls);
+    }
+
+    /**
+     * Selects the value of the windows which are used for getTime()
+     */
+    private long select(long currentValue, long previousValue, long fastestValue, long totalValue) {
+        if (isSettled()) {
+            return currentValue + previousValue;
+        }
+        if (isFasterThanFastestWindow(currentTime, currentCalls) && current.getCount() >= MINIMAL_NUMBER_OF_BATCHES) {
+            return currentValue;
+        }
+        return (fastestCalls > 0) ? fastestValue : totalValue;
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import com.google.common.collect.Table;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class fits the samples of the production mode in a background daemon thread. The calling
+ * threads only add their samples to a lock-free ring buffer per method. The daemon thread moves the
+ * samples periodically to the size buckets, fits the bucket data with the fitters of the package
+ * math and publishes the result as an immutable snapshot.
+ */
+final class BigOStreamingFitter implements Runnable {
+
+    /**
+     * Capacity of the ring buffer of each method
+     */
+    private static final int RING_BUFFER_CAPACITY = 1024;
+
+    /**
+     * Minimal number of non-empty buckets for a fit
+     */
+    private static final int MINIMAL_NUMBER_OF_ROWS = 4;
+
+    private final BigOAnalyser boa;
+
+    private final Map<String, BigOSizeBuckets> samples;
+
+    private final long updateInterval;
+
+    private final Map<String, BigOSampleRingBuffer> rings = new ConcurrentHashMap<>();
+
+    private final Map<String, BigOFitSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final Thread thread;
+
+    private volatile boolean running = false;
+
+    /**
+     * Optional detection of complexity drift per time window, may be null
+     */
+    private final BigODriftDetector driftDetector;
+
+    BigOStreamingFitter(BigOAnalyser boa, Map<String, BigOSizeBuckets> samples, long updateInterval,
+                        BigODriftDetector driftDetector) {
+        this.boa = boa;
+        this.samples = samples;
+        this.updateInterval = updateInterval;
+        this.driftDetector = driftDetector;
+        this.thread = new Thread(this, "BigOStreamingFitter");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        running = true;
+        thread.start();
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops the daemon thread after a last update, so that all offered samples are fitted
+     */
+    void stop() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Called by the threads of the proxy, never blocks
+     */
+    boolean offer(String method, long size, long time) {
+        BigOSampleRingBuffer ring = rings.get(method);
+        if (ring == null) {
+            ring = rings.computeIfAbsent(method, name -> new BigOSampleRingBuffer(RING_BUFFER_CAPACITY));
+        }
+        return ring.offer(size, time);
+    }
+
+    BigOFitSnapshot getSnapshot(String method) {
+        return snapshots.get(method);
+    }
+
+    @Override
+    public void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(updateInterval);
+            } catch (final InterruptedException e) {
+                break;
+            }
+            update();
+        }
+        update();
+    }
+
+    private void update() {
+        for (final Map.Entry<String, BigOSampleRingBuffer> entry : rings.entrySet()) {
+            final String method = entry.getKey();
+            final BigOSizeBuckets buckets = samples.computeIfAbsent(method, name -> new BigOSizeBuckets());
+            final int drained = (driftDetector == null) ? entry.getValue().drainTo(buckets)
+                    : entry.getValue().drainTo(buckets, driftDetector.getWindow(method));
+            if (drained > 0) {
+                fit(method, buckets, entry.getValue().getDropped());
+            }
+        }
+        if (driftDetector != null) {
+            driftDetector.update(System.currentTimeMillis());
+        }
+    }
+
+    private void fit(String method, BigOSizeBuckets buckets, long dropped) {
+        final Table<Integer, String, Double> data = boa.getData(method);
+        if (data.rowKeySet().size() < MINIMAL_NUMBER_OF_ROWS) {
+            return;
+        }
+        try {
+            final double degree = BigOAnalyser.estimatePolynomialDegree(data);
+            final BigOFittingResults functions = BigOAnalyser.calculateBestFittingFunctions(data);
+            final String bestFunction = functions.get(functions.descendingKeySet().first());
+            snapshots.put(method, new BigOFitSnapshot(method, buckets.getTotalCount(), dropped, degree,
+                    bestFunction, System.currentTimeMillis()));
+        } catch (final RuntimeException e) {
+            // the data are not yet good enough for a fit, so the last snapshot stays valid
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import com.google.common.base.Preconditions;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * This class limits the time of all measurements of an analyser. The wall-clock time starts with
+ * the creation of the budget, the CPU time is the sum of the CPU time of the measuring threads.
+ * After the budget is exhausted the proxied calls are executed once without measurement, so the
+ * remaining sizes of the test action are skipped and just counted.
+ */
+final class BigOTimeBudget {
+
+    /**
+     * Budget without limits, i.e. all calls are measured
+     */
+    static final BigOTimeBudget UNLIMITED = new BigOTimeBudget(0L, 0L);
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Budgets in nanoseconds, zero means no limit
+     */
+    private final long wallTime;
+    private final long cpuTime;
+
+    /**
+     * Clock of the wall-clock time in nanoseconds
+     */
+    private final LongSupplier clock;
+
+    private final long startTime;
+
+    private final LongAdder usedCpuTime = new LongAdder();
+
+    private final LongAdder skippedCalls = new LongAdder();
+
+    BigOTimeBudget(long wallTime, long cpuTime) {
+        this(wallTime, cpuTime, System::nanoTime);
+    }
+
+    BigOTimeBudget(long wallTime, long cpuTime, LongSupplier clock) {
+        Preconditions.checkArgument(0 <= wallTime, "wall-clock time budget must not be negative");
+        Preconditions.checkArgument(0 <= cpuTime, "CPU time budget must not be negative");
+        Preconditions.checkArgument(cpuTime == 0 || THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported(),
+                "CPU time budget is not supported by this JVM");
+
+        this.wallTime = wallTime;
+        this.cpuTime = cpuTime;
+        this.clock = clock;
+        this.startTime = clock.getAsLong();
+    }
+
+    /**
+     * Get the CPU time of the current thread, zero if there is no CPU time budget
+     */
+    long getThreadCpuTime() {
+        return (cpuTime > 0) ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0L;
+    }
+
+    boolean isExhausted() {
+        return isExhausted(getThreadCpuTime());
+    }
+
+    /**
+     * Checks the budget during a measurement, which started with the CPU time threadCpuStartTime
+     */
+    boolean isExhausted(long threadCpuStartTime) {
+        if (wallTime > 0 && clock.getAsLong() - startTime >= wallTime) {
+            return true;
+        }
+        return cpuTime > 0 && usedCpuTime.sum() + getThreadCpuTime() - threadCpuStartTime >= cpuTime;
+    }
+
+    /**
+     * Adds the CPU time of a completed measurement, which started with threadCpuStartTime
+     */
+    void addCpuTime(long threadCpuStartTime) {
+        if (cpuTime > 0) {
+            usedCpuTime.add(getThreadCpuTime() - threadCpuStartTime);
+        }
+    }
+
+    void skipCall() {
+        skippedCalls.increment();
+    }
+
+    long getSkippedCalls() {
+        return skippedCalls.sum();
+    }
+
+}
@@ -38,9 +38,30 @@ import static java.lang.annotation.ElementType.PARAMETER;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 /**
- * This annotation is used to mark the parameter to be investigated during measurement.
+ * This annotation is used to mark the parameter to be investigated during measurement. By default
+ * the size is measured with the extractor of the parameter type, e.g. the length of an array or the
+ * size of a collection.
  */
 @Target({PARAMETER})
 @Retention(RUNTIME)
 public @interface BigOParameter {
+
+    /**
+     * Name of a public method of the parameter without arguments which returns the size, e.g.
+     * "edgeCount" for a graph
+     */
+    String size() default "";
+
+    /**
+     * Extractor for the size of the parameter, the default (the interface itself) selects the
+     * extractor by the type of the parameter
+     */
+    @SuppressWarnings("rawtypes")
+    Class<? extends BigOSizeExtractor> extractor() default BigOSizeExtractor.class;
+
+    /**
+     * Factor for the measured size, e.g. 8.0 to measure an array of long values in bytes
+     */
+    double scale() default 1.0;
+
 }
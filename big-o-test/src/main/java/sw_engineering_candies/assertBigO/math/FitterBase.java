@@ -31,13 +31,14 @@
 
 package sw_engineering_candies.assertBigO.math;
 
-import java.util.ArrayList;
-import java.util.List;
+import com.google.common.base.Preconditions;
+
 import java.util.Map;
 
 /**
  * This class is the base for all fitter implementations. It provides common functionality for all
- * fitters.
+ * fitters. The fit works on primitive arrays, the methods with maps are adapters for the tables of
+ * the analyser.
  */
 public abstract class FitterBase {
 
@@ -45,24 +46,45 @@ public abstract class FitterBase {
      * Coefficients of the fitted Polynomial starting with a0=coefficients[0], a1=coefficients[1],
      * ...
      */
-    protected final List<Double> coefficients = new ArrayList<>();
+    protected double[] coefficients = new double[0];
     /**
      * Number of parameters of fit
      */
     protected int numberOfParameters = 1;
     /**
-     * All x Values of underlying data points
+     * All x Values of underlying data points (not copied, so they must not change during the fit)
      */
-    protected Map<Integer, Double> xValues = null;
+    protected double[] xValues = null;
     /**
-     * All y Values of underlying data points
+     * All y Values of underlying data points (not copied, so they must not change during the fit)
      */
-    protected Map<Integer, Double> yValues = null;
+    protected double[] yValues = null;
     /**
      * Coefficient of Determination for the fitted polynomial and the underlying data points
      */
     private double coefficientOfDetermination = 0.0;
 
+    /**
+     * Converts the values of a table column with the row keys 1, 2, ..., n to an array
+     */
+    protected static double[] toArray(Map<Integer, Double> values) {
+        Preconditions.checkNotNull(values);
+        final double[] result = new double[values.size()];
+        for (int index = 0; index < result.length; index++) {
+            result[index] = values.get(index + 1);
+        }
+        return result;
+    }
+
+    /**
+     * Checks the input data of a fit
+     */
+    protected static void checkValues(double[] xValues, double[] yValues) {
+        Preconditions.checkNotNull(xValues);
+        Preconditions.checkNotNull(yValues);
+        Preconditions.checkArgument(xValues.length == yValues.length, "need the same number of x and y values");
+    }
+
     /**
      * Calculates the fitted polynomial for point x
      */
@@ -72,7 +94,7 @@ public abstract class FitterBase {
      * Get a single coefficient of the fitted polynomial
      */
     public double getCoefficient(int index) {
-        return coefficients.get(index);
+        return coefficients[index];
     }
 
     /**
@@ -96,26 +118,27 @@ public abstract class FitterBase {
         // Calculate the mean value of y values
         double ySum = 0.0;
         int number = 0;
-        final int n = xValues.size();
-        for (int index = 1; index <= n; index++) {
-            final double fit = getY(xValues.get(index));
+        final int n = xValues.length;
+        for (int index = 0; index < n; index++) {
+            final double fit = getY(xValues[index]);
             if (fit > 1) {
-                ySum += yValues.get(index);
+                ySum += yValues[index];
                 number++;
             }
         }
-        final double yMean = ySum / number;
+        final double yMeanLog = Math.log(ySum / number);
 
         // Coefficient of determination
         double SS_tot = 0.0;
         double SS_res = 0.0;
-        for (int index = 1; index <= n; index++) {
-            final double x = xValues.get(index);
-            final double y = Math.log(yValues.get(index));
-            final double fit = getY(x);
+        for (int index = 0; index < n; index++) {
+            final double y = Math.log(yValues[index]);
+            final double fit = getY(xValues[index]);
             if (fit > 1) {
-                SS_tot += Math.pow(y - Math.log(yMean), 2);
-                SS_res += Math.pow(y - Math.log(fit), 2);
+                final double deviation = y - yMeanLog;
+                final double residual = y - Math.log(fit);
+                SS_tot += deviation * deviation;
+                SS_res += residual * residual;
             }
         }
         coefficientOfDetermination = 1.0 - (SS_res / (number - numberOfParameters)) / (SS_tot / (number - 1));
@@ -125,27 +148,25 @@ public abstract class FitterBase {
 
         // Calculate the mean value of y values
         double ySum = 0.0;
-        int number = 0;
-        final int n = xValues.size();
-        for (int index = 1; index <= n; index++) {
-            ySum += yValues.get(index);
-            number++;
+        final int n = xValues.length;
+        for (int index = 0; index < n; index++) {
+            ySum += yValues[index];
         }
-        final double yMean = ySum / number;
+        final double yMean = ySum / n;
 
         // Coefficient of determination
         double SS_tot = 0.0;
         double SS_res = 0.0;
-        for (int index = 1; index <= n; index++) {
-            final double x = xValues.get(index);
-            final double y = yValues.get(index);
-            final double fit = getY(x);
-            SS_tot += Math.pow(y - yMean, 2);
-            SS_res += Math.pow(y - fit, 2);
+        for (int index = 0; index < n; index++) {
+            final double y = yValues[index];
+            final double deviation = y - yMean;
+            final double residual = y - getY(xValues[index]);
+            SS_tot += deviation * deviation;
+            SS_res += residual * residual;
         }
-        coefficientOfDetermination = 1.0 - (SS_res / (number - numberOfParameters)) / (SS_tot / (number - 1));
+        coefficientOfDetermination = 1.0 - (SS_res / (n - numberOfParameters)) / (SS_tot / (n - 1));
     }
 
     public abstract double calculate(double x);
 
-}
\ No newline at end of file
+}
@@ -52,6 +52,17 @@ public class FitterExponential extends FitterBase {
         Preconditions.checkNotNull(yValues);
         Preconditions.checkArgument(xValues.size() >= 2, "need minimum 2 data points to do the fit");
 
+        init(toArray(xValues), toArray(yValues));
+    }
+
+    /**
+     * Set all the input data and execute fit
+     */
+    public void init(double[] xValues, double[] yValues) {
+        // check preconditions
+        checkValues(xValues, yValues);
+        Preconditions.checkArgument(xValues.length >= 2, "need minimum 2 data points to do the fit");
+
         super.xValues = xValues;
         super.yValues = yValues;
         super.numberOfParameters = 2;
@@ -65,40 +76,44 @@ public class FitterExponential extends FitterBase {
      */
     @Override
     public double getY(final double x) {
-        return coefficients.get(0) * Math.exp(coefficients.get(1) * x);
+        return coefficients[0] * Math.exp(coefficients[1] * x);
     }
 
     private void calculateCoefficients() {
-        final Array2DRowRealMatrix A = new Array2DRowRealMatrix(2, 2);
-        final ArrayRealVector b = new ArrayRealVector(2);
-        for (int pointIndex = 1; pointIndex <= super.xValues.size(); pointIndex++) {
-            final double x = super.xValues.get(pointIndex);
-            final double y = super.yValues.get(pointIndex);
-            A.addToEntry(0, 0, y);
-            A.addToEntry(0, 1, x * y);
-            A.addToEntry(1, 0, x * y);
-            A.addToEntry(1, 1, x * x * y);
-            b.addToEntry(0, y * Math.log(y));
-            b.addToEntry(1, x * y * Math.log(y));
+        double sumY = 0.0;
+        double sumXY = 0.0;
+        double sumXXY = 0.0;
+        double sumYLogY = 0.0;
+        double sumXYLogY = 0.0;
+        for (int pointIndex = 0; pointIndex < super.xValues.length; pointIndex++) {
+            final double x = super.xValues[pointIndex];
+            final double y = super.yValues[pointIndex];
+            final double yLogY = y * Math.log(y);
+            sumY += y;
+            sumXY += x * y;
+            sumXXY += x * x * y;
+            sumYLogY += yLogY;
+            sumXYLogY += x * yLogY;
         }
+        final RealMatrix A = new Array2DRowRealMatrix(new double[][]{{sumY, sumXY}, {sumXY, sumXXY}}, false);
+        final RealVector b = new ArrayRealVector(new double[]{sumYLogY, sumXYLogY}, false);
         final DecompositionSolver solver = new LUDecomposition(A).getSolver();
         final RealVector solution = solver.solve(b);
 
-        super.coefficients.add(0, Math.exp(solution.getEntry(0)));
-        super.coefficients.add(1, solution.getEntry(1));
+        super.coefficients = new double[]{Math.exp(solution.getEntry(0)), solution.getEntry(1)};
     }
 
     @Override
     public String toString() {
-        String a0 = String.format(Locale.US, "%.2E", coefficients.get(0));
-        String a1 = String.format(Locale.US, "%.2E", coefficients.get(1));
+        String a0 = String.format(Locale.US, "%.2E", coefficients[0]);
+        String a1 = String.format(Locale.US, "%.2E", coefficients[1]);
         String prefix = String.format(Locale.US, "Exponential\t%.4f  \t", getRSquareAdjusted());
         return prefix + "y = " + a0 + " * exp ( " + a1 + " * x )";
     }
 
     @Override
     public double calculate(double x) {
-        return coefficients.get(0) * Math.exp(coefficients.get(1) * x);
+        return coefficients[0] * Math.exp(coefficients[1] * x);
     }
 
 }
@@ -32,15 +32,14 @@
 package sw_engineering_candies.assertBigO.math;
 
 import com.google.common.base.Preconditions;
-import org.apache.commons.math3.analysis.ParametricUnivariateFunction;
-import org.apache.commons.math3.fitting.AbstractCurveFitter;
-import org.apache.commons.math3.fitting.WeightedObservedPoint;
 import org.apache.commons.math3.fitting.leastsquares.LeastSquaresBuilder;
 import org.apache.commons.math3.fitting.leastsquares.LeastSquaresProblem;
-import org.apache.commons.math3.linear.DiagonalMatrix;
+import org.apache.commons.math3.fitting.leastsquares.LevenbergMarquardtOptimizer;
+import org.apache.commons.math3.fitting.leastsquares.MultivariateJacobianFunction;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.util.Pair;
 
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Locale;
 import java.util.Map;
 
@@ -49,6 +48,11 @@ import java.util.Map;
  */
 public class FitterLogLinear extends FitterBase {
 
+    /**
+     * Upper limit of iterations, because the optimizer does not converge for all (noisy) data
+     */
+    private static final int MAXIMAL_ITERATIONS = 10000;
+
     /**
      * Set all the input data and execute fit
      */
@@ -57,6 +61,17 @@ public class FitterLogLinear extends FitterBase {
         Preconditions.checkNotNull(yValues);
         Preconditions.checkArgument(xValues.size() >= 2, "need minimum 2 data points to do the fit");
 
+        init(toArray(xValues), toArray(yValues));
+    }
+
+    /**
+     * Set all the input data and execute fit
+     */
+    public void init(double[] xValues, double[] yValues) {
+        // check preconditions
+        checkValues(xValues, yValues);
+        Preconditions.checkArgument(xValues.length >= 2, "need minimum 2 data points to do the fit");
+
         super.xValues = xValues;
         super.yValues = yValues;
         super.numberOfParameters = 2;
@@ -70,90 +85,52 @@ public class FitterLogLinear extends FitterBase {
      */
     @Override
     public double getY(final double x) {
-        return coefficients.get(0) * x * Math.log(coefficients.get(1) * x);
+        return coefficients[0] * x * Math.log(coefficients[1] * x);
     }
 
     private void calculateCoefficients() {
-        final AbstractCurveFitter fitter = new AbstractCurveFitter() {
-            @Override
-            protected LeastSquaresProblem getProblem(Collection<WeightedObservedPoint> points) {
-
-                final double[] target = new double[points.size()];
-                final double[] weights = new double[points.size()];
-                final double[] initialGuess = new double[]{2.0, 0.5};
-
-                int i = 0;
-                for (WeightedObservedPoint point : points) {
-                    target[i] = point.getY();
-                    weights[i] = point.getWeight();
-                    i += 1;
-                }
-
-                final AbstractCurveFitter.TheoreticalValuesFunction model =
-                        new AbstractCurveFitter.TheoreticalValuesFunction(new LogLinearFunc(), points);
-
-                return new LeastSquaresBuilder().
-                        maxEvaluations(Integer.MAX_VALUE).
-                        maxIterations(Integer.MAX_VALUE).
-                        start(initialGuess).
-                        target(target).
-                        weight(new DiagonalMatrix(weights)).
-                        model(model.getModelFunction(), model.getModelFunctionJacobian()).
-                        build();
-
+        final int n = super.xValues.length;
+        final double[] x = super.xValues;
+
+        final double[] initialGuess = new double[]{2.0, 0.5};
+
+        final MultivariateJacobianFunction model = point -> {
+            final double a0 = point.getEntry(0);
+            final double a1 = point.getEntry(1);
+            final double[] values = new double[n];
+            final double[][] jacobian = new double[n][2];
+            for (int pointIndex = 0; pointIndex < n; pointIndex++) {
+                final double logarithm = Math.log(a1 * x[pointIndex]);
+                values[pointIndex] = a0 * x[pointIndex] * logarithm;
+                // derivative with respect to a0 and a1
+                jacobian[pointIndex][0] = x[pointIndex] * logarithm;
+                jacobian[pointIndex][1] = a0 * x[pointIndex] / a1;
             }
+            return new Pair<>(new ArrayRealVector(values, false), new Array2DRowRealMatrix(jacobian, false));
         };
 
-        // Collect
-        Collection<WeightedObservedPoint> collection = new ArrayList<>();
-        for (int pointIndex = 1; pointIndex <= super.xValues.size(); pointIndex++) {
-            final double x = super.xValues.get(pointIndex);
-            final double y = super.yValues.get(pointIndex);
-            collection.add(new WeightedObservedPoint(1, x, y));
-        }
+        final LeastSquaresProblem problem = new LeastSquaresBuilder().
+                maxEvaluations(MAXIMAL_ITERATIONS).
+                maxIterations(MAXIMAL_ITERATIONS).
+                start(initialGuess).
+                target(super.yValues).
+                model(model).
+                build();
 
-        final double[] estimatedCoefficients = fitter.fit(collection);
-
-        super.coefficients.add(0, estimatedCoefficients[0]);
-        super.coefficients.add(1, estimatedCoefficients[1]);
+        super.coefficients = new LevenbergMarquardtOptimizer().optimize(problem).getPoint().toArray();
     }
 
     @Override
     public String toString() {
-        String a0 = String.format(Locale.US, "%.2E", coefficients.get(0));
-        String a1 = String.format(Locale.US, "%.2E", coefficients.get(1));
+        String a0 = String.format(Locale.US, "%.2E", coefficients[0]);
+        String a1 = String.format(Locale.US, "%.2E", coefficients[1]);
         String prefix = String.format(Locale.US, "LogLinear\t%.4f  \t", getRSquareAdjusted());
         return prefix + "y = " + a0 + " * x * log( " + a1 + " * x )";
     }
 
     @Override
     public double calculate(double x) {
-        return coefficients.get(0) * x * Math.log(coefficients.get(1) * x);
-    }
-
-    private static class LogLinearFunc implements ParametricUnivariateFunction {
-
-        public double value(double x, double... parameters) {
-            final double a = parameters[0];
-            final double b = parameters[1];
-            return a * x * Math.log(b * x);
-        }
-
-        public double[] gradient(double x, double... parameters) {
-
-            final double a = parameters[0];
-            final double b = parameters[1];
-            final double[] gradients = new double[2];
-
-            // derivative with respect to a
-            gradients[0] = x * Math.log(b * x);
-
-            // derivative with respect to b
-            gradients[1] = a * x / b;
-
-            return gradients;
-
-        }
+        return coefficients[0] * x * Math.log(coefficients[1] * x);
     }
 
 }
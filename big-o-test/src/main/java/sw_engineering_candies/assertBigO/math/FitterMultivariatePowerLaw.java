@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO.math;
+
+import com.google.common.base.Preconditions;
+import org.apache.commons.math3.stat.regression.OLSMultipleLinearRegression;
+
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * This class fits a multivariate power-law function: Y = c * x1^a1 * ... * xk^ak, optionally with
+ * log factors: Y = c * x1^a1 * log(x1)^b1 * ... * xk^ak * log(xk)^bk. The fit is a multiple linear
+ * regression of the logarithms. A size with the same value in all data points has the exponent 0.
+ */
+public class FitterMultivariatePowerLaw {
+
+    /**
+     * Coefficients of the regression: log(c), a1, ..., ak and in the case of log factors b1, ..., bk
+     */
+    private double[] coefficients = new double[0];
+
+    private int numberOfVariables = 0;
+
+    private double coefficientOfDetermination = 0.0;
+
+    /**
+     * Set all the input data and execute fit, xValues[point][variable] and yValues[point]
+     */
+    public void init(double[][] xValues, double[] yValues, boolean isLogFactorNeeded) {
+        // check preconditions
+        Preconditions.checkNotNull(xValues);
+        Preconditions.checkNotNull(yValues);
+        Preconditions.checkArgument(xValues.length == yValues.length, "need the same number of x and y values");
+        Preconditions.checkArgument(xValues.length > 0, "need data points to do the fit");
+
+        numberOfVariables = xValues[0].length;
+        for (final double[] point : xValues) {
+            for (final double value : point) {
+                Preconditions.checkArgument(value > 0.0, "sizes need values greater than 0");
+                Preconditions.checkArgument(!isLogFactorNeeded || value > 1.0, "log factors need values greater than 1");
+            }
+        }
+
+        // a constant size (e.g. an unused parameter) can't be fitted, it is left out with exponent 0
+        final int[] fitted = IntStream.range(0, numberOfVariables)
+                .filter(variable -> !isConstant(xValues, variable)).toArray();
+        Preconditions.checkArgument(fitted.length > 0, "need minimum one size which is not constant");
+        final int numberOfTerms = isLogFactorNeeded ? 2 * fitted.length : fitted.length;
+        Preconditions.checkArgument(xValues.length > numberOfTerms + 1,
+                "number of data points to do the fit is dependent from number of variables");
+
+        // calculate logarithms of both axis
+        final double[][] x = new double[xValues.length][numberOfTerms];
+        final double[] y = new double[yValues.length];
+        for (int point = 0; point < xValues.length; point++) {
+            for (int term = 0; term < fitted.length; term++) {
+                final double value = xValues[point][fitted[term]];
+                x[point][term] = Math.log(value);
+                if (isLogFactorNeeded) {
+                    x[point][fitted.length + term] = Math.log(Math.log(value));
+                }
+            }
+            y[point] = Math.log(yValues[point]);
+        }
+
+        final OLSMultipleLinearRegression regression = new OLSMultipleLinearRegression();
+        regression.newSampleData(y, x);
+        final double[] parameters = regression.estimateRegressionParameters();
+        coefficients = new double[1 + (isLogFactorNeeded ? 2 * numberOfVariables : numberOfVariables)];
+        coefficients[0] = parameters[0];
+        for (int term = 0; term < fitted.length; term++) {
+            coefficients[1 + fitted[term]] = parameters[1 + term];
+            if (isLogFactorNeeded) {
+                coefficients[1 + numberOfVariables + fitted[term]] = parameters[1 + fitted.length + term];
+            }
+        }
+        coefficientOfDetermination = regression.calculateAdjustedRSquared();
+    }
+
+    private static boolean isConstant(double[][] xValues, int variable) {
+        for (final double[] point : xValues) {
+            if (point[variable] != xValues[0][variable]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the exponent a of the variable (starting with 0 for x1)
+     */
+    public double getExponent(int variable) {
+        return coefficients[1 + variable];
+    }
+
+    /**
+     * Get the exponents a1, ..., ak of all variables
+     */
+    public double[] getExponents() {
+        final double[] result = new double[numberOfVariables];
+        System.arraycopy(coefficients, 1, result, 0, numberOfVariables);
+        return result;
+    }
+
+    /**
+     * Get the exponent b of the log factor of the variable (starting with 0 for x1), zero if the fit
+     * has no log factors
+     */
+    public double getLogExponent(int variable) {
+        final int index = 1 + numberOfVariables + variable;
+        return (index < coefficients.length) ? coefficients[index] : 0.0;
+    }
+
+    public double getFactor() {
+        return Math.exp(coefficients[0]);
+    }
+
+    public int getNumberOfVariables() {
+        return numberOfVariables;
+    }
+
+    /**
+     * Get coefficient of determination of the regression of the logarithms
+     */
+    public double getRSquareAdjusted() {
+        return coefficientOfDetermination;
+    }
+
+    /**
+     * Calculates the fitted function for the point x[variable]
+     */
+    public double calculate(double... x) {
+        double result = getFactor();
+        for (int variable = 0; variable < numberOfVariables; variable++) {
+            result *= Math.pow(x[variable], getExponent(variable)) *
+                    Math.pow(Math.log(x[variable]), getLogExponent(variable));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder equation = new StringBuilder(100);
+        equation.append(String.format(Locale.US, "%.2E", getFactor()));
+        for (int variable = 0; variable < numberOfVariables; variable++) {
+            equation.append(String.format(Locale.US, " * x%d^%.2E", variable + 1, getExponent(variable)));
+            if (coefficients.length > 1 + numberOfVariables) {
+                equation.append(String.format(Locale.US, " * log(x%d)^%.2E", variable + 1, getLogExponent(variable)));
+            }
+        }
+        String prefix = String.format(Locale.US, "PowerLaw\t%.4f  \t", getRSquareAdjusted());
+        return prefix + "y = " + equation;
+    }
+
+}
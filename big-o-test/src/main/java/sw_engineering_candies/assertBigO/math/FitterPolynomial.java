@@ -52,6 +52,18 @@ public class FitterPolynomial extends FitterBase {
         Preconditions.checkArgument(xValues.size() >= degree + 1,
                 "number of data points to do the fit is dependent from degree");
 
+        init(toArray(xValues), toArray(yValues), degree);
+    }
+
+    /**
+     * Set all the input data and execute fit
+     */
+    public void init(double[] xValues, double[] yValues, int degree) {
+        // check preconditions
+        checkValues(xValues, yValues);
+        Preconditions.checkArgument(xValues.length >= degree + 1,
+                "number of data points to do the fit is dependent from degree");
+
         super.xValues = xValues;
         super.yValues = yValues;
         super.numberOfParameters = degree + 1;
@@ -61,13 +73,13 @@ public class FitterPolynomial extends FitterBase {
     }
 
     /**
-     * Calculates the fitted function for point x
+     * Calculates the fitted function for point x (Horner's method)
      */
     @Override
     public double getY(final double x) {
         double result = 0.0;
-        for (int p = 0; p < coefficients.size(); p++) {
-            result += coefficients.get(p) * Math.pow(x, p);
+        for (int p = coefficients.length - 1; p >= 0; p--) {
+            result = result * x + coefficients[p];
         }
         return result;
     }
@@ -76,31 +88,38 @@ public class FitterPolynomial extends FitterBase {
      * Calculates the Polynomial Regression
      * <p>
      * see <a href="http://www.arachnoid.com/sage/polynomial.html">...</a>
+     * <p>
+     * The normal equations only need the sums of the powers x^k (k = 0..2*degree) and x^k * y (k =
+     * 0..degree), so the points are visited once without calls of Math.pow.
      *
      * @param degree Is the degree of the polynomial
      */
     private void calculateCoefficients(int degree) {
-        final int numberOfPoints = super.xValues.size();
         final int equations = degree + 1;
-        final Array2DRowRealMatrix A = new Array2DRowRealMatrix(equations, equations);
-        final ArrayRealVector b = new ArrayRealVector(equations);
-        for (int pointIndex = 1; pointIndex <= numberOfPoints; pointIndex++) {
-            final double x = super.xValues.get(pointIndex);
-            final double y = super.yValues.get(pointIndex);
-            for (int row = 0; row < equations; row++) {
-                for (int col = 0; col < equations; col++) {
-                    A.addToEntry(row, col, Math.pow(x, row + col));
+        final double[] powerSums = new double[2 * equations - 1];
+        final double[] productSums = new double[equations];
+        for (int pointIndex = 0; pointIndex < super.xValues.length; pointIndex++) {
+            final double x = super.xValues[pointIndex];
+            final double y = super.yValues[pointIndex];
+            double power = 1.0;
+            for (int k = 0; k < powerSums.length; k++) {
+                powerSums[k] += power;
+                if (k < equations) {
+                    productSums[k] += power * y;
                 }
-                b.addToEntry(row, Math.pow(x, row) * y);
+                power *= x;
             }
         }
-        final DecompositionSolver solver = new LUDecomposition(A).getSolver();
-        final RealVector solution = solver.solve(b);
-
-        coefficients.clear();
-        for (int i = 0; i <= degree; i++) {
-            coefficients.add(i, solution.getEntry(i));
+        final double[][] A = new double[equations][equations];
+        for (int row = 0; row < equations; row++) {
+            for (int col = 0; col < equations; col++) {
+                A[row][col] = powerSums[row + col];
+            }
         }
+        final DecompositionSolver solver = new LUDecomposition(new Array2DRowRealMatrix(A, false)).getSolver();
+        final RealVector solution = solver.solve(new ArrayRealVector(productSums, false));
+
+        coefficients = solution.toArray();
     }
 
     /**
@@ -108,7 +127,7 @@ public class FitterPolynomial extends FitterBase {
      */
 
     private String getPolynomialType() {
-        switch (coefficients.size()) {
+        switch (coefficients.length) {
             case 2 -> {
                 return "Linear    ";
             }
@@ -127,9 +146,9 @@ public class FitterPolynomial extends FitterBase {
     @Override
     public String toString() {
         final StringBuilder equation = new StringBuilder(100);
-        final int maxIndex = coefficients.size() - 1;
+        final int maxIndex = coefficients.length - 1;
         for (int index = maxIndex; index >= 0; index--) {
-            equation.append(String.format(Locale.US, "%.2E", coefficients.get(index)));
+            equation.append(String.format(Locale.US, "%.2E", coefficients[index]));
             if (index > 0) {
                 equation.append(" * x^").append(index).append(" + ");
             }
@@ -140,12 +159,7 @@ public class FitterPolynomial extends FitterBase {
 
     @Override
     public double calculate(double x) {
-        double result = 0;
-        final int maxIndex = coefficients.size() - 1;
-        for (int index = maxIndex; index >= 0; index--) {
-            result += coefficients.get(index) * Math.pow(x, index);
-        }
-        return result;
+        return getY(x);
     }
 
-}
\ No newline at end of file
+}
@@ -51,6 +51,17 @@ public class FitterPowerLaw extends FitterBase {
         Preconditions.checkNotNull(yValues);
         Preconditions.checkArgument(xValues.size() >= 2, "need minimum 2 data points to do the fit");
 
+        init(toArray(xValues), toArray(yValues));
+    }
+
+    /**
+     * Set all the input data and execute fit
+     */
+    public void init(double[] xValues, double[] yValues) {
+        // check preconditions
+        checkValues(xValues, yValues);
+        Preconditions.checkArgument(xValues.length >= 2, "need minimum 2 data points to do the fit");
+
         super.xValues = xValues;
         super.yValues = yValues;
         super.numberOfParameters = 2;
@@ -64,7 +75,7 @@ public class FitterPowerLaw extends FitterBase {
      */
     @Override
     public double getY(final double x) {
-        return coefficients.get(0) * Math.pow(x, coefficients.get(1));
+        return coefficients[0] * Math.pow(x, coefficients[1]);
     }
 
     private void calculateCoefficients() {
@@ -72,10 +83,10 @@ public class FitterPowerLaw extends FitterBase {
         double sum2 = 0.0;
         double sum3 = 0.0;
         double sum4 = 0.0;
-        final int n = super.xValues.size();
-        for (int pointIndex = 1; pointIndex <= n; pointIndex++) {
-            final double x = super.xValues.get(pointIndex);
-            final double y = super.yValues.get(pointIndex);
+        final int n = super.xValues.length;
+        for (int pointIndex = 0; pointIndex < n; pointIndex++) {
+            final double x = super.xValues[pointIndex];
+            final double y = super.yValues[pointIndex];
             sum1 += Math.log(y) * Math.log(x);
             sum2 += Math.log(x);
             sum3 += Math.log(y);
@@ -83,21 +94,20 @@ public class FitterPowerLaw extends FitterBase {
         }
         final double b = (n * sum1 - sum2 * sum3) / (n * sum4 - sum2 * sum2);
         final double a = Math.exp((sum3 - b * sum2) / n);
-        super.coefficients.add(0, a);
-        super.coefficients.add(1, b);
+        super.coefficients = new double[]{a, b};
     }
 
     @Override
     public String toString() {
-        String a0 = String.format(Locale.US, "%.2E", coefficients.get(0));
-        String a1 = String.format(Locale.US, "%.2E", coefficients.get(1));
+        String a0 = String.format(Locale.US, "%.2E", coefficients[0]);
+        String a1 = String.format(Locale.US, "%.2E", coefficients[1]);
         String prefix = String.format(Locale.US, "PowerLaw\t%.4f  \t", getRSquareAdjusted());
         return prefix + "y = " + a0 + " * x^" + a1;
     }
 
     @Override
     public double calculate(double x) {
-        return coefficients.get(0) * Math.pow(x, coefficients.get(1));
+        return coefficients[0] * Math.pow(x, coefficients[1]);
     }
 
 }
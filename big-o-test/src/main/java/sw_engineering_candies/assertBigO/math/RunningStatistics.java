@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO.math;
+
+/**
+ * This class calculates mean and variance of a stream of values without storing them (see Welford's
+ * online algorithm).
+ * <p>
+ * See <a href="https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance">...</a>
+ */
+public class RunningStatistics {
+
+    /**
+     * Number of added values
+     */
+    private long count = 0;
+
+    /**
+     * Mean value of all added values
+     */
+    private double mean = 0.0;
+
+    /**
+     * Sum of squares of differences from the current mean
+     */
+    private double sumOfSquares = 0.0;
+
+    public void add(double value) {
+        count++;
+        final double delta = value - mean;
+        mean += delta / count;
+        sumOfSquares += delta * (value - mean);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Get the sample variance, which is zero for less than two values
+     */
+    public double getVariance() {
+        return (count > 1) ? sumOfSquares / (count - 1) : 0.0;
+    }
+
+    /**
+     * Get the standard error of the mean divided by the mean, which is infinite for less than two
+     * values
+     */
+    public double getRelativeStandardError() {
+        if (count < 2 || mean == 0.0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Math.sqrt(getVariance() / count) / Math.abs(mean);
+    }
+
+}
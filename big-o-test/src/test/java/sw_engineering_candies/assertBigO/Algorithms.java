@@ -33,13 +33,22 @@ package sw_engineering_candies.assertBigO;
 import sw_engineering_candies.assertBigO.interfaces.BigOParameter;
 
 import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
 
 @SuppressWarnings("UnusedReturnValue")
 public class Algorithms {
 
+    private volatile boolean drifted = false;
+
+    private List<Integer> values = new ArrayList<>();
+
     public double run(@BigOParameter @DummyAnnotation List<Integer> m,
                       @DummyAnnotation boolean flag,
                       @BigOParameter int[] n,
@@ -74,6 +83,38 @@ public class Algorithms {
         return result;
     }
 
+    /**
+     * Linear in milliseconds, so a preemption of the thread has only a small effect on the time
+     */
+    public void runSleepLinear(@BigOParameter int m) throws InterruptedException {
+        Thread.sleep(m);
+    }
+
+    public double runWithGarbageCollection(@BigOParameter int m) {
+        System.gc();
+        return runLinear(m);
+    }
+
+    public List<Integer> runCreateList(@BigOParameter int m) {
+        return createList(m);
+    }
+
+    public void runStoreList(@BigOParameter int m) {
+        values = createList(m);
+    }
+
+    private static List<Integer> createList(int m) {
+        final List<Integer> result = new ArrayList<>(m);
+        for (int index = 0; index < m; index++) {
+            result.add(index + 1000);
+        }
+        return result;
+    }
+
+    public long[] runAllocateLinear(@BigOParameter int m) {
+        return new long[m];
+    }
+
     public double runQuadratic(@BigOParameter int m) {
         double result = 0;
         for (int index = 0; index < m; index++) {
@@ -102,6 +143,47 @@ public class Algorithms {
         return result;
     }
 
+    public void setDrifted(boolean drifted) {
+        this.drifted = drifted;
+    }
+
+    public double runDrifting(@BigOParameter int m) {
+        final int count = drifted ? m * m : m;
+        double result = 0;
+        for (int index = 0; index < count; index++) {
+            result += index;
+        }
+        return result;
+    }
+
+    public double runJoin(@BigOParameter int[] n, @BigOParameter int[] m) {
+        double result = 0;
+        for (final int value_n : n) {
+            for (final int value_m : m) {
+                result += value_n * value_m;
+            }
+        }
+        return result;
+    }
+
+    public double runOverloaded(@BigOParameter int[] m) {
+        double result = 0;
+        for (final int value : m) {
+            result += value;
+        }
+        return result;
+    }
+
+    public double runOverloaded(@BigOParameter List<Integer> m) {
+        double result = 0;
+        for (final Integer value : m) {
+            for (final Integer value2 : m) {
+                result += value * value2;
+            }
+        }
+        return result;
+    }
+
     public double runAllParameter(@BigOParameter int[] in01,
                                   @BigOParameter long[] in02,
                                   @BigOParameter float[] in03,
@@ -121,8 +203,40 @@ public class Algorithms {
         return result + in01.length + in02.length + in03.length + in04.length + in05.length + in06.length() + in07.size() + in08.size() + in09.size() + in10 + in11;
     }
 
-    public boolean runNotSupportedParameter(@BigOParameter File file) {
+    public boolean runNotSupportedParameter(@BigOParameter Random random) {
+        return random.nextBoolean();
+    }
+
+    public int runSizeAccessor(@BigOParameter(size = "cardinality") BitSet bits) {
+        return bits.length();
+    }
+
+    public int runScaledParameter(@BigOParameter(scale = 8.0) long[] values) {
+        return values.length;
+    }
+
+    public int runExtractorParameter(@BigOParameter(extractor = RecordBatch.SizeExtractor.class) Object batch) {
+        return batch.hashCode();
+    }
+
+    public int runWrongSizeAccessor(@BigOParameter(size = "noSuchMethod") List<Integer> values) {
+        return values.size();
+    }
+
+    public boolean runFileParameter(@BigOParameter File file) {
         return file.exists();
     }
 
+    public double runMoreParameterTypes(@BigOParameter Object[] in01,
+                                        @BigOParameter int[][] in02,
+                                        @BigOParameter CharSequence in03,
+                                        @BigOParameter ByteBuffer in04,
+                                        @BigOParameter Optional<String> in05,
+                                        @BigOParameter Iterable<Integer> in06,
+                                        @BigOParameter RecordBatch in07
+    ) {
+        return in01.length + in02.length + in03.length() + in04.remaining() + in07.getRowCount()
+                + (in05.isPresent() ? 1 : 0) + (in06.iterator().hasNext() ? 1 : 0);
+    }
+
 }
\ No newline at end of file
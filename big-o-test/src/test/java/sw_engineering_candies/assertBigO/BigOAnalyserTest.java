@@ -31,7 +31,9 @@
 
 package sw_engineering_candies.assertBigO;
 
+import com.google.common.collect.Range;
 import com.google.common.collect.Table;
+import com.google.common.collect.TreeBasedTable;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,9 +41,16 @@ import org.junit.jupiter.api.parallel.ExecutionMode;
 import sw_engineering_candies.assertBigO.interfaces.BigOParameter;
 
 import java.io.ByteArrayOutputStream;
-import java.io.File;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 import java.util.stream.LongStream;
 
@@ -180,6 +189,106 @@ public class BigOAnalyserTest {
         assertNull(boa.getValue("ThisIsWrongKey#8#4#5"));
     }
 
+    @Test
+    public void getValue_NotNumericSize_GetNull() {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        boa.setMeasurementInterval(1000000L, 2000000L, 0.1);
+
+        // when
+        sut.runLinear(10);
+
+        // then
+        assertNotNull(boa.getValue("runLinear#10"));
+        assertNull(boa.getValue("runLinear#ten"));
+    }
+
+    @Test
+    public void getData_CallsWithUnsortedSizes_GetRowsInOrderOfFirstCall() {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        boa.setMeasurementInterval(1000000L, 2000000L, 0.1);
+
+        // when
+        sut.runLinear(100);
+        sut.runLinear(10);
+        sut.runLinear(1000);
+        sut.runLinear(10);
+        sut.runLinear(1);
+
+        // then
+        final Table<Integer, String, Double> data = boa.getData("runLinear");
+        assertEquals(List.of(100.0, 10.0, 1000.0, 1.0), new ArrayList<>(data.column("N1").values()));
+    }
+
+    @Test
+    public void getData_OverloadedMethod_GetSeparateDataPerSignature() throws NoSuchMethodException {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        boa.setMeasurementInterval(1000000L, 2000000L, 0.1);
+
+        // when
+        sut.runOverloaded(new int[10]);
+        sut.runOverloaded(new int[20]);
+        sut.runOverloaded(Collections.nCopies(30, 1));
+
+        // then
+        assertEquals(Set.of("runOverloaded(int[])", "runOverloaded(java.util.List)"), boa.getAnalysedMethodNames());
+        assertEquals(2, boa.getData("runOverloaded(int[])").rowKeySet().size());
+        final Method method = Algorithms.class.getMethod("runOverloaded", List.class);
+        assertEquals(30.0, boa.getData(method).get(1, "N1"));
+        assertTrue(boa.getKeys().contains("runOverloaded(int[])#20"));
+    }
+
+    @Test
+    public void getData_NameOfOverloadedMethod_GetIllegalStateException() {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        boa.setMeasurementInterval(1000000L, 2000000L, 0.1);
+        sut.runOverloaded(new int[10]);
+        sut.runOverloaded(Collections.nCopies(30, 1));
+
+        // when
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                boa.getData("runOverloaded")
+        );
+
+        // then
+        final String expected = "Method name 'runOverloaded' is overloaded, select one of " +
+                "[runOverloaded(int[]), runOverloaded(java.util.List)]";
+        assertEquals(expected, exception.getMessage());
+    }
+
+    @Test
+    public void getData_SignatureOfMethodWhichIsNotOverloaded_GetData() {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        boa.setMeasurementInterval(1000000L, 2000000L, 0.1);
+
+        // when
+        sut.runLinear(10);
+
+        // then
+        assertEquals(boa.getData("runLinear"), boa.getData("runLinear(int)"));
+    }
+
+    @Test
+    public void getData_WrongSignatureOfMethodWhichIsNotOverloaded_GetIllegalArgumentException() {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        boa.setMeasurementInterval(1000000L, 2000000L, 0.1);
+        sut.runLinear(10);
+
+        // when
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                boa.getData("runLinear(java.lang.String)")
+        );
+
+        // then
+        assertEquals("Signature 'runLinear(java.lang.String)' does not match the method runLinear(int)",
+                exception.getMessage());
+    }
+
     @Test
     public void put_TryToChangeValueOnGetDataChecked_GetUnsupportedOperationException() {
         // given
@@ -341,6 +450,85 @@ public class BigOAnalyserTest {
         BigOAssert.assertQuadratic(actual.getBigOAnalyser(), "sort");
     }
 
+    @Test
+    public void execute_CompilationInFirstRound_MoreThanOneWarmupRound() {
+        // given - the class is not used by other tests, so its methods get compiled in the first round
+        List<List<Long>> values = LongStream.range(6, 11)
+                .mapToInt(i -> 1 << i)
+                .mapToObj(BigOAnalyserTest::createSortInput)
+                .toList();
+
+        // when
+        BigOResult actual = BigOAnalyser.classUnderTest(InsertionSort.class)
+                .execute((InsertionSort o) -> values.forEach(o::sort));
+
+        // then
+        assertTrue(actual.getWarmupRounds() >= 2);
+        assertEquals(values.size(), actual.getBigOAnalyser().getData("sort").rowKeySet().size());
+    }
+
+    @Test
+    public void resetMeasurement_MeasuredAgain_RowOnlyAfterNewMeasurement() {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        sut.runLinear(1000);
+        sut.runLinear(2000);
+
+        // when
+        boa.resetMeasurement(BigOMeasurementKey.parse("runLinear#2000"));
+
+        // then - the reset data point is not part of the data until it is measured again
+        assertEquals(1, boa.getData("runLinear").rowKeySet().size());
+        assertEquals(0, boa.getValue("runLinear#2000").getCalls());
+        sut.runLinear(2000);
+        assertEquals(2, boa.getData("runLinear").rowKeySet().size());
+        assertTrue(boa.getValue("runLinear#2000").getCalls() > 0);
+    }
+
+    @Test
+    public void execute_ScheduledSizesOfBubbleSort_DetectQuadratic() {
+        // when
+        BigOResult actual = BigOAnalyser.classUnderTest(BubbleSort.class)
+                .execute(BigOAnalyserTest::createSortInput, BubbleSort::sort, 1_500_000_000L);
+
+        // then
+        BigOAssert.assertPolynomialDegree(actual.getBigOAnalyser(), "sort",
+                BigOAssert.DEGREE_EXPECTED_QUADRATIC, 2 * BigOAssert.DEGREE_EXPECTED_DELTA);
+    }
+
+    @Test
+    public void execute_ScheduledSizesWithTimeBudget_IntermediateSizesWithinBudget() {
+        // given
+        final long timeBudget = 2_000_000_000L;
+        final long startTime = System.nanoTime();
+
+        // when
+        BigOResult actual = BigOAnalyser.classUnderTest(Algorithms.class)
+                .execute((int size) -> size, Algorithms::runLinear, timeBudget);
+
+        // then
+        assertTrue(System.nanoTime() - startTime < 2 * timeBudget);
+        final Table<Integer, String, Double> data = actual.getBigOAnalyser().getDataChecked("runLinear");
+        assertTrue(data.column("N1").values().stream()
+                .mapToLong(Double::longValue)
+                .anyMatch(size -> Long.bitCount(size) != 1));
+        BigOAssert.assertLinear(actual.getBigOAnalyser(), "runLinear");
+    }
+
+    @Test
+    public void execute_ActionWithoutProxyCall_RaiseIllegalStateException() {
+        // given
+        final BigOResult result = BigOAnalyser.classUnderTest(Algorithms.class);
+
+        // when
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> result.execute((int size) -> size, (Algorithms sut, Integer size) -> {
+                }, 1_000_000_000L)
+        );
+
+        // then
+        assertEquals("the action has to call a method of the proxy", exception.getMessage());
+    }
 
     @Test
     public void trace() {
@@ -482,6 +670,155 @@ public class BigOAnalyserTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void getLatencyData_TwoSizes_PercentilesOrdered() {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        sut.runLinear(100);
+        sut.runLinear(10000);
+
+        // when
+        final Table<Integer, String, Double> data = boa.getLatencyData("runLinear");
+
+        // then
+        assertEquals(2, data.rowKeySet().size());
+        for (final Integer row : data.rowKeySet()) {
+            assertTrue(data.get(row, "P50") > 0.0);
+            assertTrue(data.get(row, "P50") <= data.get(row, "P90"));
+            assertTrue(data.get(row, "P90") <= data.get(row, "P99"));
+            assertTrue(data.get(row, "P99") <= data.get(row, "MAX"));
+        }
+    }
+
+    @Test
+    public void getLatencyData_CheapMethod_HistogramOfSingleCalls() {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+
+        // when
+        sut.runLinear(10);
+
+        // then
+        final BigODataPoint point = boa.getValue("runLinear#10");
+        assertTrue(point.getHistogram().getTotalCount() > 0);
+        assertTrue(point.getHistogram().getTotalCount() < point.getCalls());
+    }
+
+    @Test
+    public void addTime_ConcurrentThreads_NoLostUpdates() throws InterruptedException {
+        // given
+        final BigODataPoint bigOProbe = new BigODataPoint();
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    bigOProbe.addTime(3, 2);
+                }
+            }));
+        }
+
+        // when
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        // then
+        assertEquals(8 * 10000 * 2, bigOProbe.getCalls());
+        assertEquals(8 * 10000 * 3, bigOProbe.getTime());
+    }
+
+    @Test
+    public void createProxy_SharedByConcurrentThreads_AllSizesMeasured() throws Exception {
+        // given
+        boa.setMeasurementInterval(1000 * 1000L, 5 * 1000 * 1000L, 0.05);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            final int size = 100 * (1 + i % 4);
+            futures.add(executor.submit(() -> sut.runLinear(size)));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertEquals(4, boa.getData("runLinear").rowKeySet().size());
+        for (final String key : boa.getKeys()) {
+            assertTrue(boa.getValue(key).getCalls() > 0);
+            assertTrue(boa.getValue(key).getHistogram().getTotalCount() > 0);
+        }
+    }
+
+    @Test
+    public void setProductionMode_EveryCallSampled_MethodExecutedOnceAndDataPerBucket() {
+        // given
+        boa.setProductionMode(1);
+        final SutClass sut = (SutClass) boa.createProxy(SutClass.class);
+
+        // when
+        for (int size = 1; size <= 1024; size *= 2) {
+            sut.runCounted(size);
+            sut.runCounted(size + size / 2);
+        }
+
+        // then
+        assertEquals(22, sut.getCounter());
+        final Table<Integer, String, Double> data = boa.getData("runCounted");
+        assertEquals(11, data.rowKeySet().size());
+        assertTrue(data.column("N1").containsValue(1.0));
+        assertTrue(data.column("N1").containsValue((1024.0 + 1536.0) / 2));
+        assertTrue(boa.isAnalysed("runCounted"));
+        assertEquals("[runCounted]", boa.getAnalysedMethodNames().toString());
+        assertTrue(boa.getKeys().isEmpty());
+    }
+
+    @Test
+    public void setProductionMode_SizeZero_NotInData() {
+        // given
+        boa.setProductionMode(1);
+        final SutClass sut = (SutClass) boa.createProxy(SutClass.class);
+
+        // when
+        sut.runCounted(0);
+        sut.runCounted(10);
+
+        // then
+        final Table<Integer, String, Double> data = boa.getData("runCounted");
+        assertEquals(1, data.rowKeySet().size());
+        assertFalse(data.column("N1").containsValue(0.0));
+    }
+
+    @Test
+    public void setProductionMode_Deactivated_NoSamples() {
+        // given
+        boa.setProductionMode(1);
+        boa.deactivate();
+        final SutClass sut = (SutClass) boa.createProxy(SutClass.class);
+
+        // when
+        sut.runCounted(10);
+
+        // then
+        assertEquals(1, sut.getCounter());
+        assertFalse(boa.isAnalysed("runCounted"));
+    }
+
+    @Test
+    public void setProductionMode_ZeroSamplingRate_GetIllegalArgumentException() {
+        // when
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                boa.setProductionMode(0)
+        );
+
+        // then
+        assertEquals("sampling rate must be positive", exception.getMessage());
+    }
+
     @Test
     public void getAnalysedMethodNames_GetCorrectValues() {
         // given
@@ -621,11 +958,75 @@ public class BigOAnalyserTest {
 
         // when
         IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
-                sut.runNotSupportedParameter(new File("test.txt"))
+                sut.runNotSupportedParameter(new Random())
+        );
+
+        // then
+        assertEquals("Not supported data type 'class java.util.Random' for method runNotSupportedParameter", exception.getMessage());
+    }
+
+    @Test
+    public void runSizeAttributes_AccessorScaleAndExtractor_GetCorrectKeys() {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        boa.setMeasurementInterval(1000000L, 2000000L, 0.1);
+        final BitSet bits = new BitSet(100);
+        bits.set(10);
+        bits.set(20);
+        bits.set(90);
+
+        // when
+        sut.runSizeAccessor(bits);
+        sut.runScaledParameter(new long[4]);
+        sut.runExtractorParameter(new RecordBatch(8));
+
+        // then
+        assertEquals(Set.of("runSizeAccessor#3", "runScaledParameter#32", "runExtractorParameter#8"), boa.getKeys());
+    }
+
+    @Test
+    public void runWrongSizeAccessor_NoSuchMethod_GetIllegalStateException() {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+
+        // when
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                sut.runWrongSizeAccessor(List.of(1, 2))
         );
 
         // then
-        assertEquals("Not supported data type 'class java.io.File' for method runNotSupportedParameter", exception.getMessage());
+        assertEquals("Not supported size accessor 'noSuchMethod' of type 'java.util.List' for method runWrongSizeAccessor",
+                exception.getMessage());
+    }
+
+    @Test
+    public void runFileParameter_FileWithFiveBytes_GetKeyWithNumberOfBytes() throws IOException {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        boa.setMeasurementInterval(1000000L, 2000000L, 0.1);
+        final Path path = Files.createTempFile("big-o-test", ".txt");
+        Files.write(path, new byte[5]);
+
+        // when
+        sut.runFileParameter(path.toFile());
+        Files.delete(path);
+
+        // then
+        assertEquals(Set.of("runFileParameter#5"), boa.getKeys());
+    }
+
+    @Test
+    public void runMoreParameterTypes_BuiltInAndServiceLoaderTypes_GetCorrectKeys() {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        boa.setMeasurementInterval(1000000L, 2000000L, 0.1);
+
+        // when
+        sut.runMoreParameterTypes(new String[2], new int[3][4], new StringBuilder("12345"), ByteBuffer.allocate(6),
+                Optional.of("x"), new ArrayDeque<>(List.of(1, 2, 3, 4, 5, 6, 7)), new RecordBatch(8));
+
+        // then
+        assertEquals(Set.of("runMoreParameterTypes#2#12#5#6#1#7#8"), boa.getKeys());
     }
 
     @Test
@@ -655,17 +1056,422 @@ public class BigOAnalyserTest {
     }
 
     @Test
-    public void run_RaiseExceptionMethod_IllegalStateException() {
+    public void run_RaiseExceptionMethod_ArithmeticException() {
         // given
         final SutClass sut = (SutClass) boa.createProxy(SutClass.class);
 
         // when
-        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+        ArithmeticException exception = assertThrows(ArithmeticException.class, () ->
                 sut.runRaiseException(0)
         );
 
         // then
-        assertEquals("ERROR in invoke -> java.lang.ArithmeticException: / by zero", exception.getMessage());
+        assertEquals("/ by zero", exception.getMessage());
+    }
+
+    @Test
+    public void run_RaiseErrorMethod_ErrorNotWrapped() {
+        // given
+        final SutClass sut = (SutClass) boa.createProxy(SutClass.class);
+
+        // when
+        StackOverflowError error = assertThrows(StackOverflowError.class, () ->
+                sut.runRaiseError(1)
+        );
+
+        // then
+        assertEquals("too deep", error.getMessage());
+    }
+
+    @Test
+    public void run_RaiseCheckedExceptionMethod_IllegalStateException() {
+        // given
+        final SutClass sut = (SutClass) boa.createProxy(SutClass.class);
+
+        // when
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                sut.runRaiseCheckedException(1)
+        );
+
+        // then
+        assertEquals("ERROR in invoke -> java.io.IOException: not readable", exception.getMessage());
+    }
+
+    @Test
+    public void setMeasurementInterval_ShortInterval_CheapCallReturnsEarly() {
+        // given
+        boa.setMeasurementInterval(1000 * 1000L, 5 * 1000 * 1000L, 0.05);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+
+        // when
+        final long start = System.nanoTime();
+        sut.runConstant(10);
+        final long duration = System.nanoTime() - start;
+
+        // then
+        assertTrue(duration < 50 * 1000 * 1000L, "duration=" + duration);
+        assertTrue(boa.getValue("runConstant#10").getCalls() > 1);
+    }
+
+    @Test
+    public void setMeasurementInterval_MinimalGreaterMaximal_GetIllegalArgumentException() {
+        // when
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                boa.setMeasurementInterval(2000L, 1000L, 0.01)
+        );
+
+        // then
+        assertEquals("minimal interval must not be greater than maximal interval", exception.getMessage());
+    }
+
+    @Test
+    public void setTimeBudget_WallTimeExhausted_RemainingCallsSkipped() {
+        // given
+        boa.setMeasurementInterval(5 * 1000 * 1000L, 10 * 1000 * 1000L, 0.01);
+        boa.setTimeBudget(100 * 1000 * 1000L, 0L);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+
+        // when
+        for (int n = 1; n <= 64; n++) {
+            sut.runLinear(1000 * n);
+        }
+
+        // then
+        assertTrue(boa.isTimeBudgetExhausted());
+        assertTrue(boa.getSkippedCalls() > 0);
+        assertEquals(64, boa.getData("runLinear").rowKeySet().size() + boa.getSkippedCalls());
+    }
+
+    @Test
+    public void setTimeBudget_CpuTimeExhausted_RemainingCallsSkipped() {
+        // given
+        boa.setMeasurementInterval(5 * 1000 * 1000L, 10 * 1000 * 1000L, 0.01);
+        boa.setTimeBudget(0L, 50 * 1000 * 1000L);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+
+        // when
+        for (int n = 1; n <= 64; n++) {
+            sut.runLinear(1000 * n);
+        }
+
+        // then
+        assertTrue(boa.isTimeBudgetExhausted());
+        assertTrue(boa.getSkippedCalls() > 0);
+    }
+
+    @Test
+    public void setTimeBudget_NegativeBudget_GetIllegalArgumentException() {
+        // when
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                boa.setTimeBudget(-1L, 0L)
+        );
+
+        // then
+        assertEquals("wall-clock time budget must not be negative", exception.getMessage());
+    }
+
+    @Test
+    public void setGcPolicy_Subtract_GcTimeInDataReport() {
+        // given
+        boa.setMeasurementInterval(5 * 1000 * 1000L, 10 * 1000 * 1000L, 0.01);
+        boa.setGcPolicy(BigOGcPolicy.SUBTRACT);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+
+        // when
+        for (int n = 1; n <= 4; n++) {
+            sut.runWithGarbageCollection(1000 * n);
+        }
+
+        // then
+        final Table<Integer, String, Double> data = boa.getData("runWithGarbageCollection");
+        assertEquals(4, data.column("GC-SUBTRACT").size());
+        assertTrue(data.column("GC-SUBTRACT").values().stream().mapToDouble(Double::doubleValue).sum() > 0.0);
+        assertTrue(BigOReports.getDataReport(data).startsWith("N1\tTIME\tGC-SUBTRACT"));
+    }
+
+    @Test
+    public void setGcPolicy_Reject_GcTimeReported() {
+        // given
+        boa.setMeasurementInterval(5 * 1000 * 1000L, 10 * 1000 * 1000L, 0.01);
+        boa.setGcPolicy(BigOGcPolicy.REJECT);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+
+        // when
+        for (int n = 1; n <= 4; n++) {
+            sut.runWithGarbageCollection(1000 * n);
+        }
+
+        // then
+        final Table<Integer, String, Double> data = boa.getData("runWithGarbageCollection");
+        assertEquals(4, data.rowKeySet().size());
+        assertEquals(4, data.column("GC-REJECT").size());
+    }
+
+    @Test
+    public void setGcPolicy_DefaultIgnore_NoGcColumn() {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+
+        // when
+        sut.runWithGarbageCollection(1000);
+
+        // then
+        assertEquals(BigOGcPolicy.IGNORE, boa.getGcPolicy());
+        assertEquals(List.of("N1", "TIME"), List.copyOf(boa.getData("runWithGarbageCollection").columnKeySet()));
+    }
+
+    @Test
+    public void getGcTime_GcOnlyInSlowerWindow_GcTimeOfFastestWindow() {
+        // given
+        final BigOStoppingRule stoppingRule = new BigOStoppingRule(1000 * 1000L, 100 * 1000 * 1000L, 0.01);
+        long time = 0L;
+        for (int batch = 0; batch < 10; batch++) {
+            stoppingRule.setBatchGcTime(50 * 1000L);
+            stoppingRule.addBatch(time, time + 200 * 1000L);
+            time += 200 * 1000L;
+        }
+
+        // when
+        for (int batch = 0; batch < 10; batch++) {
+            stoppingRule.addBatch(time, time + 100 * 1000L);
+            time += 100 * 1000L;
+        }
+
+        // then
+        assertEquals(10L, stoppingRule.getCalls());
+        assertEquals(1000 * 1000L, stoppingRule.getTime());
+        assertEquals(0L, stoppingRule.getGcTime());
+    }
+
+    @Test
+    public void addBatch_ExcludedGcTime_IntervalOfStartAndEndTime() {
+        // given
+        final BigOStoppingRule stoppingRule = new BigOStoppingRule(1000 * 1000L, 2 * 1000 * 1000L, 0.01);
+        stoppingRule.setBatchGcTime(1500 * 1000L);
+
+        // when
+        stoppingRule.addBatch(0L, 2 * 1000 * 1000L, 1500 * 1000L);
+
+        // then
+        assertTrue(stoppingRule.isComplete());
+        assertEquals(500 * 1000L, stoppingRule.getTime());
+        assertEquals(1500 * 1000L, stoppingRule.getGcTime());
+    }
+
+    @Test
+    public void setTimeSource_Cpu_DetectQuadratic() {
+        // given
+        boa.setTimeSource(BigOTimeSource.CPU);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+
+        // when
+        for (int n = 4096; n >= 256; n /= 2) {
+            sut.runQuadratic(n);
+
+            // replace measured results, linear wall-clock time and quadratic CPU time
+            final BigODataPoint result = boa.getValue("runQuadratic#" + n);
+            result.reset();
+            result.addTime(n * 100L, 1);
+            result.addCpuTime((long) n * n);
+        }
+
+        // then
+        assertEquals(List.of("N1", "TIME"), List.copyOf(boa.getData("runQuadratic").columnKeySet()));
+        BigOAssert.assertPolynomialDegree(boa, "runQuadratic",
+                BigOAssert.DEGREE_EXPECTED_QUADRATIC, BigOAssert.DEGREE_EXPECTED_DELTA);
+    }
+
+    @Test
+    public void setTimeSource_Both_CpuTimeInSeparateColumn() {
+        // given
+        boa.setMeasurementInterval(5 * 1000 * 1000L, 10 * 1000 * 1000L, 0.01);
+        boa.setTimeSource(BigOTimeSource.BOTH);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+
+        // when
+        for (int n = 1; n <= 4; n++) {
+            sut.runLinear(1000 * n);
+        }
+
+        // then
+        final Table<Integer, String, Double> data = boa.getData("runLinear");
+        assertEquals(4, data.column("CPU").size());
+        assertTrue(data.column("CPU").values().stream().allMatch(cpuTime -> cpuTime > 0.0));
+        assertTrue(BigOReports.getDataReport(data).startsWith("N1\tTIME\tCPU"));
+    }
+
+    @Test
+    public void setHeapMeasured_FieldOfSut_RetainedHeapOfList() {
+        // given
+        BigOHeapAgent.install();
+        boa.setMeasurementInterval(1000 * 1000L, 2 * 1000 * 1000L, 0.01);
+        boa.setHeapMeasured("values");
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+
+        // when
+        sut.runStoreList(1000);
+        sut.runStoreList(2000);
+
+        // then
+        final Table<Integer, String, Double> data = boa.getData("runStoreList");
+        final double heap = data.get(1, "HEAP");
+        // 1000 Integer objects of 16 bytes and an array of 1000 references
+        assertTrue(heap > 1000 * 16 + 1000 * 4 && heap < 1000 * 16 + 1000 * 8 + 100);
+        assertTrue(data.get(2, "HEAP") > 1.9 * heap);
+    }
+
+    @Test
+    public void setHeapMeasured_UnknownField_GetIllegalStateException() {
+        // given
+        BigOHeapAgent.install();
+        boa.setHeapMeasured("noSuchField");
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+
+        // when
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                sut.runStoreList(10)
+        );
+
+        // then
+        assertTrue(exception.getMessage().startsWith("No field 'noSuchField' in "));
+    }
+
+    @Test
+    public void estimatePolynomialDegreeInterval_replaceMeasuredData_IntervalContainsDegree() {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        for (int n = 1; n <= 128; n *= 2) {
+            sut.runLinear((n));
+
+            // replace measured results O(n^2) with some noise
+            final BigODataPoint result = boa.getValue("runLinear#" + n);
+            result.setNanoTime(n * n * ((n % 3 == 0) ? 110 : 100));
+            result.setCalls(1);
+        }
+
+        // when
+        final Table<Integer, String, Double> data = boa.getData("runLinear");
+        final Range<Double> result = BigOAnalyser.estimatePolynomialDegreeInterval(data, 0.95);
+
+        // then
+        assertTrue(result.contains(2.0));
+        assertTrue(result.upperEndpoint() - result.lowerEndpoint() < 0.1);
+    }
+
+    @Test
+    public void update_IntervalInsideAtConfidenceLevel_UndecidedBecauseOfAlphaSpending() {
+        // given - linear data with some noise
+        final Table<Integer, String, Double> data = TreeBasedTable.create();
+        for (int row = 1; row <= 4; row++) {
+            final double n = Math.pow(2, row + 10);
+            data.put(row, "N1", n);
+            data.put(row, "TIME", n * ((row % 2 == 0) ? 110 : 100));
+        }
+        // the expected range just encloses the interval of a single check
+        final Range<Double> single = BigOAnalyser.estimatePolynomialDegreeInterval(data, 0.95);
+        final double delta = Math.max(1.0 - single.lowerEndpoint(), single.upperEndpoint() - 1.0) + 0.001;
+        final BigOSequentialTest test = new BigOSequentialTest(1.0, delta, 0.95);
+
+        // when
+        test.update(data);
+
+        // then - the first check uses alpha / 2
+        assertEquals(BigOSequentialTest.Verdict.UNDECIDED, test.getVerdict());
+        assertEquals(BigOAnalyser.estimatePolynomialDegreeInterval(data, 0.975), test.getInterval());
+        assertEquals(4, test.getNumberOfSizes());
+    }
+
+    @Test
+    public void startSequentialTest_SignatureOfNotOverloadedMethod_TestUpdated() {
+        // given
+        boa.setMeasurementInterval(1000000L, 2000000L, 0.1);
+        boa.startSequentialTest("runLinear(int)", 1.0, 0.2);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+
+        // when
+        for (int n = 1000; n <= 8000; n *= 2) {
+            sut.runLinear(n);
+        }
+
+        // then
+        assertTrue(boa.getSequentialTest("runLinear(int)").getNumberOfSizes() > 0);
+        assertSame(boa.getSequentialTest("runLinear(int)"), boa.getSequentialTest("runLinear"));
+    }
+
+    /**
+     * Replaces the measured data point with single calls of the given latencies
+     */
+    private void replaceLatencies(String key, long... latencies) {
+        final BigODataPoint point = boa.getValue(key);
+        point.reset();
+        final BigOLatencyHistogram histogram = new BigOLatencyHistogram();
+        for (final long latency : latencies) {
+            point.addTime(latency);
+            histogram.record(latency, 1);
+        }
+        point.addHistogram(histogram);
+    }
+
+    @Test
+    public void estimatePolynomialDegreeWithConfidence_replaceMeasuredData_IntervalContainsDegree() {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        for (int n = 1; n <= 128; n *= 2) {
+            sut.runLinear((n));
+
+            // replace measured results O(n^2) with some noise
+            final long time = n * n * 100L;
+            replaceLatencies("runLinear#" + n, time, time * 11 / 10, time * 9 / 10, time * 12 / 10, time);
+        }
+
+        // when
+        final BigODegreeEstimate result = boa.estimatePolynomialDegreeWithConfidence("runLinear", 0.95);
+
+        // then
+        assertTrue(result.contains(2.0));
+        assertTrue(result.getLowerBound() <= result.getDegree() && result.getDegree() <= result.getUpperBound());
+        assertTrue(result.getUpperBound() - result.getLowerBound() < 0.1);
+        assertEquals(result.toString(), boa.estimatePolynomialDegreeWithConfidence("runLinear", 0.95).toString());
+    }
+
+    @Test
+    public void estimatePolynomialDegreeWithConfidence_EqualLatenciesOfEachSize_IntervalIsDegree() {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        for (int n = 1024; n <= 8192; n *= 2) {
+            sut.runLinear(n);
+            final long time = (n == 4096) ? n * 120L : n * 100L;
+            replaceLatencies("runLinear#" + n, time, time, time);
+        }
+
+        // when
+        final BigODegreeEstimate result = boa.estimatePolynomialDegreeWithConfidence("runLinear", 0.95);
+
+        // then - the deviation of one size from the straight line is not part of the interval
+        assertNotEquals(1.0, result.getDegree(), 0.001);
+        assertEquals(result.getDegree(), result.getLowerBound(), 1e-12);
+        assertEquals(result.getDegree(), result.getUpperBound(), 1e-12);
+    }
+
+    @Test
+    public void estimatePolynomialDegreeWithConfidence_MoreSpreadOfLatencies_WiderInterval() {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        for (int n = 1024; n <= 8192; n *= 2) {
+            sut.runLinear(n);
+            replaceLatencies("runLinear#" + n, n * 90L, n * 100L, n * 110L);
+        }
+        final BigODegreeEstimate narrow = boa.estimatePolynomialDegreeWithConfidence("runLinear", 0.95);
+
+        // when
+        for (int n = 1024; n <= 8192; n *= 2) {
+            replaceLatencies("runLinear#" + n, n * 50L, n * 100L, n * 150L);
+        }
+        final BigODegreeEstimate wide = boa.estimatePolynomialDegreeWithConfidence("runLinear", 0.95);
+
+        // then
+        assertTrue(narrow.contains(1.0) && wide.contains(1.0));
+        assertTrue(wide.getUpperBound() - wide.getLowerBound() > narrow.getUpperBound() - narrow.getLowerBound());
     }
 
     @Test
@@ -693,9 +1499,27 @@ class SutClass {
         return b;
     }
 
+    private int counter = 0;
+
+    public void runCounted(@BigOParameter int b) {
+        counter++;
+    }
+
+    public int getCounter() {
+        return counter;
+    }
+
     public void runRaiseException(@BigOParameter int b) {
         //noinspection IntegerDivisionInFloatingPointContext
         @SuppressWarnings("unused") double result = 1 / b;
     }
+
+    public void runRaiseError(@BigOParameter int b) {
+        throw new StackOverflowError("too deep");
+    }
+
+    public void runRaiseCheckedException(@BigOParameter int b) throws IOException {
+        throw new IOException("not readable");
+    }
 }
 
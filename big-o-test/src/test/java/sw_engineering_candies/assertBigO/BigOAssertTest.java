@@ -34,6 +34,8 @@ package sw_engineering_candies.assertBigO;
 import com.google.common.collect.Table;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static sw_engineering_candies.assertBigO.BigOAssert.*;
 
@@ -578,4 +580,333 @@ public class BigOAssertTest {
         assertTrue(exception.getMessage().contains(expected));
     }
 
+    @Test
+    public void assertPolynomialDegrees_RunJoinOnGrid_DegreesAreOk() {
+        // given
+        final BigOAnalyser boa = new BigOAnalyser();
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        for (int n = 1000; n <= 8000; n *= 2) {
+            for (int m = 250; m <= 2000; m *= 2) {
+                sut.runJoin(new int[n], new int[m]);
+            }
+        }
+
+        // then
+        assertDoesNotThrow(() ->
+                assertPolynomialDegrees(boa, "runJoin", 0.25, 1.0, 1.0)
+        );
+    }
+
+    @Test
+    public void assertPolynomialDegrees_RunJoinWrongExpectation_DetectFailedAsExpected() {
+        // given
+        final BigOAnalyser boa = new BigOAnalyser();
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        for (int n = 1000; n <= 8000; n *= 2) {
+            for (int m = 250; m <= 2000; m *= 2) {
+                sut.runJoin(new int[n], new int[m]);
+            }
+        }
+
+        // when
+        BigOAssertWarningError exception = assertThrows(BigOAssertWarningError.class, () ->
+                assertPolynomialDegrees(boa, "runJoin", 0.25, 1.0, 2.0)
+        );
+
+        // then
+        String expected = """
+                BigOAssertException - assertPolynomialDegrees failed:
+                \tPolynomial degrees expected = [1.0, 2.0]
+                \tPolynomial degrees actual   =""";
+        assertTrue(exception.getMessage().contains(expected));
+    }
+
+    @Test
+    public void assertPolynomialDegree_TimeBudgetExhausted_ReportConfidence() {
+        // given - the clock of the budget is moved past the budget after six sizes
+        final BigOAnalyser boa = new BigOAnalyser();
+        boa.setMeasurementInterval(5 * 1000 * 1000L, 10 * 1000 * 1000L, 0.01);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        boa.deactivate();
+        sut.runLinear(10 * 1000);
+        boa.activate();
+        final AtomicLong clock = new AtomicLong();
+        boa.setTimeBudget(new BigOTimeBudget(100L, 0L, clock::get));
+        for (int n = 10 * 1000; n <= 320 * 1000; n *= 2) {
+            sut.runLinear(n);
+
+            // replace measured results O(n) with some noise
+            final BigODataPoint result = boa.getValue("runLinear#" + n);
+            result.setNanoTime(n * ((n % 3 == 0) ? 110 : 100));
+            result.setCalls(1);
+        }
+        clock.set(100L);
+        for (int n = 640 * 1000; n <= 5120 * 1000; n *= 2) {
+            sut.runLinear(n);
+        }
+
+        // when
+        BigOAssertWarningError exception = assertThrows(BigOAssertWarningError.class, () ->
+                assertQuadratic(boa, "runLinear")
+        );
+
+        // then
+        assertTrue(exception.getMessage().contains("Time budget exhausted, 4 calls not measured"));
+        assertTrue(exception.getMessage().contains("Polynomial degree 95% confidence interval = ["));
+        assertTrue(exception.getMessage().contains("] from 6 data points"));
+    }
+
+    @Test
+    public void assertPolynomialDegreeSequentially_RunLinear_StopEarlyAndDegreeIsOk() {
+        // given
+        final BigOAnalyser warmup = new BigOAnalyser();
+        warmup.startSequentialTest("runLinear", DEGREE_EXPECTED_LINEAR, DEGREE_EXPECTED_DELTA);
+        final Algorithms warmupSut = (Algorithms) warmup.createProxy(Algorithms.class);
+        for (int n = 100 * 1000; n <= 800 * 1000; n *= 2) {
+            warmupSut.runLinear(n);
+        }
+        final BigOAnalyser boa = new BigOAnalyser();
+        boa.startSequentialTest("runLinear", DEGREE_EXPECTED_LINEAR, DEGREE_EXPECTED_DELTA);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+
+        // when
+        for (int n = 100 * 1000; n <= 256 * 100 * 1000; n *= 2) {
+            sut.runLinear(n);
+        }
+
+        // then
+        assertDoesNotThrow(() ->
+                assertPolynomialDegreeSequentially(boa, "runLinear")
+        );
+        assertTrue(boa.getData("runLinear").rowKeySet().size() < 9);
+    }
+
+    @Test
+    public void assertPolynomialDegreeSequentially_RunQuadratic_DetectLinearFailedAsExpected() {
+        // given
+        final BigOAnalyser boa = new BigOAnalyser();
+        boa.startSequentialTest("runQuadratic", DEGREE_EXPECTED_LINEAR, DEGREE_EXPECTED_DELTA);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        for (int n = 64; n <= 8192; n *= 2) {
+            sut.runQuadratic(n);
+        }
+
+        // when
+        BigOAssertWarningError exception = assertThrows(BigOAssertWarningError.class, () ->
+                assertPolynomialDegreeSequentially(boa, "runQuadratic")
+        );
+
+        // then
+        String expected = """
+                BigOAssertException - assertPolynomialDegreeSequentially failed:
+                \tPolynomial degree expected = 1.0 +/- 0.15
+                \tPolynomial degree 95% confidence interval = [""";
+        assertTrue(exception.getMessage().contains(expected));
+    }
+
+    @Test
+    public void assertPolynomialDegreeSequentially_NotStarted_RaiseIllegalArgumentException() {
+        // given
+        final BigOAnalyser boa = new BigOAnalyser();
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        sut.runLinear(1000);
+
+        // when
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                assertPolynomialDegreeSequentially(boa, "runLinear")
+        );
+
+        // then
+        assertEquals("here we need a method with a started sequential test", exception.getMessage());
+    }
+
+    @Test
+    public void assertPolynomialDegreeInterval_RunQuadratic_IntervalNearQuadratic() {
+        // given
+        final BigOAnalyser boa = new BigOAnalyser();
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        boa.deactivate();
+        sut.runQuadratic(256);
+        boa.activate();
+        for (int n = 256; n <= 8192; n *= 2) {
+            sut.runQuadratic(n);
+        }
+
+        // when
+        final BigODegreeEstimate actual = boa.estimatePolynomialDegreeWithConfidence("runQuadratic", 0.99);
+
+        // then - the interval covers the noise of the single calls, but not the deviation of the
+        // measured sizes from a straight line
+        assertTrue(actual.contains(actual.getDegree()));
+        assertTrue(actual.getLowerBound() > DEGREE_EXPECTED_QUADRATIC - DEGREE_EXPECTED_DELTA, actual.toString());
+        assertTrue(actual.getUpperBound() < DEGREE_EXPECTED_QUADRATIC + DEGREE_EXPECTED_DELTA, actual.toString());
+    }
+
+    @Test
+    public void assertPolynomialDegreeInterval_ReplaceMeasuredData_IntervalContainsQuadratic() {
+        // given
+        final BigOAnalyser boa = new BigOAnalyser();
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        for (int n = 4; n <= 256; n *= 2) {
+            sut.runQuadratic(n);
+
+            // replace measured results O(n^2) with some noise of the single calls
+            final BigODataPoint result = boa.getValue("runQuadratic#" + n);
+            result.reset();
+            final BigOLatencyHistogram histogram = new BigOLatencyHistogram();
+            for (int call = 0; call < 10; call++) {
+                final long latency = n * n * ((call % 2 == 0) ? 95L : 105L);
+                result.addTime(latency);
+                histogram.record(latency, 1);
+            }
+            result.addHistogram(histogram);
+        }
+
+        // then
+        assertDoesNotThrow(() ->
+                assertPolynomialDegreeInterval(boa, "runQuadratic", DEGREE_EXPECTED_QUADRATIC, 0.99)
+        );
+    }
+
+    @Test
+    public void assertPolynomialDegreeInterval_RunQuadratic_DetectLinearFailedAsExpected() {
+        // given
+        final BigOAnalyser boa = new BigOAnalyser();
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        for (int n = 256; n <= 8192; n *= 2) {
+            sut.runQuadratic(n);
+        }
+
+        // when
+        BigOAssertWarningError exception = assertThrows(BigOAssertWarningError.class, () ->
+                assertPolynomialDegreeInterval(boa, "runQuadratic", DEGREE_EXPECTED_LINEAR)
+        );
+
+        // then
+        String expected = """
+                BigOAssertException - assertPolynomialDegreeInterval failed:
+                \tPolynomial degree expected = 1.0
+                \tPolynomial degree actual   =""";
+        assertTrue(exception.getMessage().contains(expected));
+    }
+
+    @Test
+    public void assertAllocationLinear_RunAllocateLinear_DetectLinearIsOk() {
+        // given
+        final BigOAnalyser boa = new BigOAnalyser();
+        boa.setAllocationMeasured(true);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        for (int n = 65536; n >= 1024; n /= 2) {
+            sut.runAllocateLinear(n);
+        }
+
+        // then
+        assertDoesNotThrow(() ->
+                assertAllocationLinear(boa, "runAllocateLinear")
+        );
+    }
+
+    @Test
+    public void assertAllocationConstant_RunLinear_DetectConstantIsOk() {
+        // given - the allocations before the compilation are not measured
+        final BigOAnalyser boa = new BigOAnalyser();
+        boa.setAllocationMeasured(true);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        boa.deactivate();
+        sut.runLinear(65536);
+        boa.activate();
+        for (int n = 65536; n >= 1024; n /= 2) {
+            sut.runLinear(n);
+        }
+
+        // then
+        assertDoesNotThrow(() ->
+                assertAllocationConstant(boa, "runLinear")
+        );
+    }
+
+    @Test
+    public void assertAllocationConstant_RunAllocateLinear_DetectConstantFailedAsExpected() {
+        // given
+        final BigOAnalyser boa = new BigOAnalyser();
+        boa.setAllocationMeasured(true);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        for (int n = 65536; n >= 1024; n /= 2) {
+            sut.runAllocateLinear(n);
+        }
+
+        // when
+        BigOAssertWarningError exception = assertThrows(BigOAssertWarningError.class, () ->
+                assertAllocationConstant(boa, "runAllocateLinear")
+        );
+
+        // then
+        String expected = """
+                BigOAssertException - assertAllocationPolynomialDegree failed:
+                \tPolynomial degree expected = 0.0
+                \tPolynomial degree actual   =""";
+        assertTrue(exception.getMessage().startsWith(expected));
+    }
+
+    @Test
+    public void assertAllocationLinear_AllocationNotMeasured_RaiseIllegalArgumentException() {
+        // given
+        final BigOAnalyser boa = new BigOAnalyser();
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        for (int n = 65536; n >= 1024; n /= 2) {
+            sut.runAllocateLinear(n);
+        }
+
+        // when
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                assertAllocationLinear(boa, "runAllocateLinear")
+        );
+
+        // then
+        assertEquals("here we need an activated allocation measurement", exception.getMessage());
+    }
+
+    @Test
+    public void assertHeapLinear_RunCreateList_DetectLinearIsOk() {
+        // given
+        BigOHeapAgent.install();
+        final BigOAnalyser boa = new BigOAnalyser();
+        boa.setMeasurementInterval(1000 * 1000L, 2 * 1000 * 1000L, 0.01);
+        boa.setHeapMeasured(true);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        for (int n = 16; n <= 4096; n *= 4) {
+            sut.runCreateList(n);
+        }
+
+        // then
+        assertDoesNotThrow(() ->
+                assertHeapLinear(boa, "runCreateList")
+        );
+    }
+
+    @Test
+    public void assertHeapConstant_RunCreateList_DetectConstantFailedAsExpected() {
+        // given
+        BigOHeapAgent.install();
+        final BigOAnalyser boa = new BigOAnalyser();
+        boa.setMeasurementInterval(1000 * 1000L, 2 * 1000 * 1000L, 0.01);
+        boa.setHeapMeasured(true);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        for (int n = 16; n <= 4096; n *= 4) {
+            sut.runCreateList(n);
+        }
+
+        // when
+        BigOAssertWarningError exception = assertThrows(BigOAssertWarningError.class, () ->
+                assertHeapConstant(boa, "runCreateList")
+        );
+
+        // then
+        String expected = """
+                BigOAssertException - assertHeapPolynomialDegree failed:
+                \tPolynomial degree expected = 0.0
+                \tPolynomial degree actual   =""";
+        assertTrue(exception.getMessage().startsWith(expected));
+    }
+
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Table;
+import com.google.common.collect.TreeBasedTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BigOFitCacheTest {
+
+    private static Table<Integer, String, Double> createLinearTable() {
+        final Table<Integer, String, Double> result = TreeBasedTable.create();
+        for (int row = 1; row <= 4; row++) {
+            result.put(row, "N1", (double) row);
+            result.put(row, "TIME", 10.0 * row);
+        }
+        return result;
+    }
+
+    @Test
+    public void get_SameTableFittedTwice_SecondResultFromCache() {
+        // given
+        final BigOFitCache<Table<Integer, String, Double>, Double> cache = new BigOFitCache<>(10);
+        final AtomicInteger fits = new AtomicInteger();
+        final Table<Integer, String, Double> data = createLinearTable();
+        cache.get(ImmutableTable.copyOf(data), () -> fits.incrementAndGet() * 1.0);
+
+        // when - a new copy with the same content is an equal key
+        final double actual = cache.get(ImmutableTable.copyOf(createLinearTable()), () -> fits.incrementAndGet() * 1.0);
+
+        // then
+        assertEquals(1.0, actual, 0.0);
+        assertEquals(1, fits.get());
+        assertEquals(1L, cache.size());
+    }
+
+    @Test
+    public void get_TableChanged_FittedAgain() {
+        // given
+        final BigOFitCache<Table<Integer, String, Double>, Double> cache = new BigOFitCache<>(10);
+        final AtomicInteger fits = new AtomicInteger();
+        final Table<Integer, String, Double> data = createLinearTable();
+        cache.get(ImmutableTable.copyOf(data), () -> fits.incrementAndGet() * 1.0);
+
+        // when
+        data.put(4, "TIME", 50.0);
+        final double actual = cache.get(ImmutableTable.copyOf(data), () -> fits.incrementAndGet() * 1.0);
+
+        // then
+        assertEquals(2.0, actual, 0.0);
+        assertEquals(2L, cache.size());
+    }
+
+    @Test
+    public void get_FitFails_ExceptionNotCached() {
+        // given
+        final BigOFitCache<String, Double> cache = new BigOFitCache<>(10);
+
+        // when
+        final IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                cache.get("key", () -> {
+                    throw new IllegalStateException("R^2=0.5");
+                })
+        );
+
+        // then
+        assertEquals("R^2=0.5", exception.getMessage());
+        assertEquals(0L, cache.size());
+        assertEquals(3.0, cache.get("key", () -> 3.0), 0.0);
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BigOLatencyHistogramTest {
+
+    @Test
+    public void getValueAtPercentile_SmallValues_ExactResult() {
+        // given
+        final BigOLatencyHistogram histogram = new BigOLatencyHistogram();
+
+        // when
+        for (int value = 1; value <= 10; value++) {
+            histogram.record(value, 1);
+        }
+
+        // then
+        assertEquals(10, histogram.getTotalCount());
+        assertEquals(5, histogram.getValueAtPercentile(50.0));
+        assertEquals(9, histogram.getValueAtPercentile(90.0));
+        assertEquals(10, histogram.getValueAtPercentile(99.0));
+        assertEquals(10, histogram.getMaxValue());
+    }
+
+    @Test
+    public void getValueAtPercentile_LargeValues_WithinPrecision() {
+        // given
+        final BigOLatencyHistogram histogram = new BigOLatencyHistogram();
+
+        // when
+        for (int value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000L, 1);
+        }
+
+        // then
+        assertEquals(500000.0, histogram.getValueAtPercentile(50.0), 500000.0 / 16);
+        assertEquals(900000.0, histogram.getValueAtPercentile(90.0), 900000.0 / 16);
+        assertEquals(990000.0, histogram.getValueAtPercentile(99.0), 990000.0 / 16);
+        assertEquals(1000000, histogram.getMaxValue());
+    }
+
+    @Test
+    public void record_ValueWithCount_SpikeVisibleInMaximumOnly() {
+        // given
+        final BigOLatencyHistogram histogram = new BigOLatencyHistogram();
+
+        // when
+        histogram.record(100, 999);
+        histogram.record(100000, 1);
+
+        // then
+        assertEquals(1000, histogram.getTotalCount());
+        assertEquals(100.0, histogram.getValueAtPercentile(99.0), 100.0 / 16);
+        assertEquals(100000, histogram.getMaxValue());
+    }
+
+    @Test
+    public void add_TwoHistograms_CountsMerged() {
+        // given
+        final BigOLatencyHistogram first = new BigOLatencyHistogram();
+        final BigOLatencyHistogram second = new BigOLatencyHistogram();
+        first.record(10, 3);
+        second.record(12, 1);
+
+        // when
+        first.add(second);
+
+        // then
+        assertEquals(4, first.getTotalCount());
+        assertEquals(12, first.getMaxValue());
+        assertEquals(10, first.getValueAtPercentile(75.0));
+    }
+
+    @Test
+    public void record_NegativeValue_GetIllegalArgumentException() {
+        // given
+        final BigOLatencyHistogram histogram = new BigOLatencyHistogram();
+
+        // when
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                histogram.record(-1, 1)
+        );
+
+        // then
+        assertEquals("value must not be negative", exception.getMessage());
+    }
+
+}
@@ -38,8 +38,10 @@ import org.junit.jupiter.api.Test;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class BigOReportsTest {
@@ -83,6 +85,23 @@ public class BigOReportsTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void getDataReport_LatencyDataOfRunLinear_GetReportWithPercentiles() {
+        // given
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        sut.runLinear(10);
+        final BigODataPoint result = boa.getValue("runLinear#10");
+        result.setNanoTime(123);
+        result.setCalls(1);
+        final Table<Integer, String, Double> data = boa.getLatencyData("runLinear");
+
+        // when
+        final String actual = BigOReports.getDataReport(data);
+
+        // then
+        assertEquals(true, actual.startsWith("N1\tTIME\tP50\tP90\tP99\tMAX".concat(NL).concat("10\t123\t")));
+    }
+
     @Test
     public void getDataReport_OneCallOfRunLinear_GetReport() {
         // given
@@ -229,6 +248,53 @@ public class BigOReportsTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void getBestFunctionsReport_RepeatedParallelFits_GetSameReport() {
+        // given
+        final Table<Integer, String, Double> input = createSevenPoints();
+        final String expected = BigOReports.getBestFunctionsReport(input);
+
+        // when
+        final long differentReports = IntStream.range(0, 100).parallel()
+                .mapToObj(index -> BigOReports.getBestFunctionsReport(input))
+                .filter(report -> !report.equals(expected))
+                .count();
+
+        // then
+        assertEquals(0, differentReports);
+    }
+
+    @Test
+    public void getPolynomialDegree_TableChangedAfterFirstFit_GetNewDegree() {
+        // given
+        final Table<Integer, String, Double> input = createSevenPoints();
+        final String first = BigOReports.getPolynomialDegree(input);
+
+        // when
+        for (int row = 1; row <= 7; row++) {
+            input.put(row, "TIME", 10.0 * row);
+        }
+        final String actual = BigOReports.getPolynomialDegree(input);
+
+        // then
+        assertNotEquals(first, actual);
+        assertEquals("ESTIMATED-POLYNOMIAL-DEGREE" + NL + "1.0000" + NL, actual);
+    }
+
+    @Test
+    public void getBestFunction_CachedResultChangedByCaller_GetSameFunction() {
+        // given
+        final Table<Integer, String, Double> input = createSevenPoints();
+        final String expected = BigOReports.getBestFunction(input);
+
+        // when
+        BigOAnalyser.calculateBestFittingFunctions(input).clear();
+        final String actual = BigOReports.getBestFunction(input);
+
+        // then
+        assertEquals(expected, actual);
+    }
+
     @Test
     public void getBestFunctionsReport_CreateSevenPoints_GetReport() {
         // given
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import org.junit.jupiter.api.Test;
+import sw_engineering_candies.assertBigO.interfaces.BigODriftListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BigOStreamingFitterTest {
+
+    @Test
+    public void offer_FullRingBuffer_SampleDropped() {
+        // given
+        final BigOSampleRingBuffer ring = new BigOSampleRingBuffer(4);
+        final BigOSizeBuckets buckets = new BigOSizeBuckets();
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(8, 100));
+        }
+
+        // when
+        final boolean result = ring.offer(8, 100);
+
+        // then
+        assertFalse(result);
+        assertEquals(1, ring.getDropped());
+        assertEquals(4, ring.drainTo(buckets));
+        assertEquals(4, buckets.getTotalCount());
+        assertTrue(ring.offer(8, 100));
+    }
+
+    @Test
+    public void offer_ConcurrentProducers_NoSampleLost() throws InterruptedException {
+        // given
+        final BigOSampleRingBuffer ring = new BigOSampleRingBuffer(256);
+        final BigOSizeBuckets buckets = new BigOSizeBuckets();
+        final AtomicLong accepted = new AtomicLong();
+        final List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            producers.add(new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    if (ring.offer(i, 1)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        // when
+        producers.forEach(Thread::start);
+        long drained = 0;
+        while (producers.stream().anyMatch(Thread::isAlive)) {
+            drained += ring.drainTo(buckets);
+        }
+        for (final Thread producer : producers) {
+            producer.join();
+        }
+        drained += ring.drainTo(buckets);
+
+        // then
+        assertEquals(accepted.get(), drained);
+        assertEquals(4 * 10000, accepted.get() + ring.getDropped());
+        assertEquals(drained, buckets.getTotalCount());
+    }
+
+    @Test
+    public void startStreamingFit_LinearCalls_SnapshotPublished() throws InterruptedException {
+        // given
+        final BigOAnalyser boa = new BigOAnalyser();
+        boa.setProductionMode(1);
+        boa.startStreamingFit(10);
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+
+        // when
+        for (int repetition = 0; repetition < 20; repetition++) {
+            for (int size = 1; size <= 8; size *= 2) {
+                sut.runSleepLinear(size);
+            }
+        }
+        boa.stopStreamingFit();
+
+        // then
+        final BigOFitSnapshot snapshot = boa.getLatestFit("runSleepLinear");
+        assertNotNull(snapshot);
+        assertEquals("runSleepLinear", snapshot.getMethod());
+        assertEquals(20 * 4, snapshot.getSamples() + snapshot.getDroppedSamples());
+        assertTrue(snapshot.getPolynomialDegree() > 0.5, "degree=" + snapshot.getPolynomialDegree());
+        assertTrue(BigOReports.getLatestFitReport(snapshot).startsWith("LATEST-FIT"));
+    }
+
+    @Test
+    public void startDriftDetection_LinearToQuadratic_ListenerCalled() throws InterruptedException {
+        // given
+        final BigOAnalyser boa = new BigOAnalyser();
+        boa.setProductionMode(1);
+        final List<BigODriftEvent> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch quadraticDetected = new CountDownLatch(1);
+        boa.startDriftDetection(50, 0.5, 1000.0, event -> {
+            events.add(event);
+            if (event.getDegree() > 1.5) {
+                quadraticDetected.countDown();
+            }
+        });
+        final Algorithms sut = (Algorithms) boa.createProxy(Algorithms.class);
+        final long linearEnd = System.currentTimeMillis() + 300;
+        while (System.currentTimeMillis() < linearEnd) {
+            for (int size = 128; size <= 2048; size *= 2) {
+                sut.runDrifting(size);
+            }
+        }
+
+        // when
+        sut.setDrifted(true);
+        final long quadraticEnd = System.currentTimeMillis() + 5000;
+        while (quadraticDetected.getCount() > 0 && System.currentTimeMillis() < quadraticEnd) {
+            for (int size = 128; size <= 2048; size *= 2) {
+                sut.runDrifting(size);
+            }
+        }
+        final boolean result = quadraticDetected.await(1, TimeUnit.SECONDS);
+        boa.stopStreamingFit();
+
+        // then
+        assertTrue(result, "events=" + events);
+        assertEquals("runDrifting", events.get(events.size() - 1).getMethod());
+    }
+
+    @Test
+    public void startStreamingFit_NotProductionMode_GetIllegalStateException() {
+        // given
+        final BigOAnalyser boa = new BigOAnalyser();
+
+        // when
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                boa.startStreamingFit(10)
+        );
+
+        // then
+        assertEquals("streaming fit needs the production mode", exception.getMessage());
+    }
+
+    @Test
+    public void update_NoisyWindow_ListenerCalledForWindowNotFitted() {
+        // given
+        final List<String> notFitted = new ArrayList<>();
+        final BigODriftDetector detector = new BigODriftDetector(10, 0.5, 1000.0, new BigODriftListener() {
+            @Override
+            public void driftDetected(BigODriftEvent event) {
+            }
+
+            @Override
+            public void windowNotFitted(String method, long windowStart, long windowEnd) {
+                notFitted.add(method);
+            }
+        });
+        for (int k = 1; k <= 8; k++) {
+            final long size = 1L << k;
+            detector.getWindow("runNoisy").add(size, (long) (Math.pow(size, 1.5) * ((k % 2 == 1) ? 100 : 1)));
+        }
+
+        // when
+        detector.update(System.currentTimeMillis() + 1000);
+
+        // then
+        assertEquals(List.of("runNoisy"), notFitted);
+        assertEquals(1, detector.getNotFittedWindows());
+    }
+
+    @Test
+    public void toString_GermanLocale_DecimalPoint() {
+        // given
+        final Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            // when
+            final String actual = new BigODriftEvent("run", 1.0, 2.0, 2.0, 3.0, 0L, 1L).toString();
+
+            // then
+            assertEquals("DRIFT run degree 1.00 -> 2.00 coefficient 2.000e+00 -> 3.000e+00", actual);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+}
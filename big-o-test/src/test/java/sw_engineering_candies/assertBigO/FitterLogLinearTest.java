@@ -33,10 +33,13 @@ package sw_engineering_candies.assertBigO;
 
 import com.google.common.collect.Table;
 import com.google.common.collect.TreeBasedTable;
+import org.apache.commons.math3.exception.TooManyEvaluationsException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import sw_engineering_candies.assertBigO.math.FitterLogLinear;
 
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -113,4 +116,21 @@ public class FitterLogLinearTest {
 
     }
 
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    public void init_NoisyDataNotConverging_ExceptionInsteadOfEndlessLoop() {
+        // given - noisy single-shot samples, for which the optimizer does not converge
+        final double[] xValues = {16.0, 32.0, 64.0, 128.0, 256.0, 512.0};
+        final double[] yValues = {21.101, 2.1757E8, 532.95, 8.7518E8, 6.4270E8, 129422.71};
+        final FitterLogLinear function = new FitterLogLinear();
+
+        // when
+        final TooManyEvaluationsException exception = assertThrows(TooManyEvaluationsException.class, () ->
+                function.init(xValues, yValues)
+        );
+
+        // then
+        assertEquals(10000, exception.getMax());
+    }
+
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import org.junit.jupiter.api.Test;
+import sw_engineering_candies.assertBigO.math.FitterMultivariatePowerLaw;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FitterMultivariatePowerLawTest {
+
+    @Test
+    public void init_PowerLawWithoutNoise_CorrectExponents() {
+        // given
+        final double[][] xValues = createGrid();
+        final double[] yValues = new double[xValues.length];
+        for (int i = 0; i < xValues.length; i++) {
+            yValues[i] = 3.0 * Math.pow(xValues[i][0], 2.0) * Math.pow(xValues[i][1], 0.5);
+        }
+        final FitterMultivariatePowerLaw fitter = new FitterMultivariatePowerLaw();
+
+        // when
+        fitter.init(xValues, yValues, false);
+
+        // then
+        assertEquals(1.0, fitter.getRSquareAdjusted(), 0.000000001);
+        assertEquals(2, fitter.getNumberOfVariables());
+        assertEquals(3.0, fitter.getFactor(), 0.000001);
+        assertEquals(2.0, fitter.getExponent(0), 0.000001);
+        assertEquals(0.5, fitter.getExponent(1), 0.000001);
+        assertEquals(0.0, fitter.getLogExponent(0), 0.0);
+        assertEquals(3.0 * 100.0 * 7.0, fitter.calculate(10.0, 49.0), 0.0001);
+    }
+
+    @Test
+    public void init_PowerLawWithLogFactor_CorrectExponents() {
+        // given
+        final double[][] xValues = createGrid();
+        final double[] yValues = new double[xValues.length];
+        for (int i = 0; i < xValues.length; i++) {
+            yValues[i] = 5.0 * xValues[i][0] * Math.log(xValues[i][0]) * xValues[i][1];
+        }
+        final FitterMultivariatePowerLaw fitter = new FitterMultivariatePowerLaw();
+
+        // when
+        fitter.init(xValues, yValues, true);
+
+        // then
+        assertEquals(5.0, fitter.getFactor(), 0.000001);
+        assertEquals(1.0, fitter.getExponent(0), 0.000001);
+        assertEquals(1.0, fitter.getLogExponent(0), 0.000001);
+        assertEquals(1.0, fitter.getExponent(1), 0.000001);
+        assertEquals(0.0, fitter.getLogExponent(1), 0.000001);
+    }
+
+    @Test
+    public void init_TooFewDataPoints_RaiseIllegalArgumentException() {
+        // given
+        final double[][] xValues = {{2.0, 2.0}, {4.0, 8.0}, {8.0, 4.0}};
+        final double[] yValues = {1.0, 2.0, 3.0};
+        final FitterMultivariatePowerLaw fitter = new FitterMultivariatePowerLaw();
+
+        // when
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> fitter.init(xValues, yValues, false)
+        );
+
+        // then
+        assertEquals("number of data points to do the fit is dependent from number of variables", exception.getMessage());
+    }
+
+    @Test
+    public void init_ConstantSize_ExponentZero() {
+        // given - the second size is not used
+        final double[][] xValues = new double[5][2];
+        final double[] yValues = new double[xValues.length];
+        for (int i = 0; i < xValues.length; i++) {
+            xValues[i][0] = Math.pow(2, i + 1);
+            xValues[i][1] = 1.0;
+            yValues[i] = 3.0 * Math.pow(xValues[i][0], 2.0);
+        }
+        final FitterMultivariatePowerLaw fitter = new FitterMultivariatePowerLaw();
+
+        // when
+        fitter.init(xValues, yValues, false);
+
+        // then
+        assertEquals(2, fitter.getNumberOfVariables());
+        assertEquals(3.0, fitter.getFactor(), 0.000001);
+        assertEquals(2.0, fitter.getExponent(0), 0.000001);
+        assertEquals(0.0, fitter.getExponent(1), 0.0);
+    }
+
+    @Test
+    public void init_SizeZero_RaiseIllegalArgumentException() {
+        // given
+        final double[][] xValues = {{0.0, 2.0}, {2.0, 8.0}, {4.0, 4.0}, {8.0, 2.0}, {16.0, 8.0}};
+        final double[] yValues = {1.0, 2.0, 3.0, 4.0, 5.0};
+        final FitterMultivariatePowerLaw fitter = new FitterMultivariatePowerLaw();
+
+        // when
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> fitter.init(xValues, yValues, false)
+        );
+
+        // then
+        assertEquals("sizes need values greater than 0", exception.getMessage());
+    }
+
+    private static double[][] createGrid() {
+        final double[][] result = new double[25][2];
+        int point = 0;
+        for (int n = 1; n <= 5; n++) {
+            for (int m = 1; m <= 5; m++) {
+                result[point][0] = Math.pow(2, n);
+                result[point][1] = Math.pow(3, m);
+                point++;
+            }
+        }
+        return result;
+    }
+
+}
@@ -68,6 +68,23 @@ public class FitterPolynomialTest {
         assertEquals(1342179018.4, fitter.calculate(16384.0), 0.5);
     }
 
+    @Test
+    public void init_PrimitiveArrays_SameFitAsTable() {
+        // given
+        final Table<Integer, String, Double> input = createPoints();
+        final FitterPolynomial expected = new FitterPolynomial();
+        expected.init(input.column("N1"), input.column("TIME"), 2);
+        final double[] x = input.column("N1").values().stream().mapToDouble(Double::doubleValue).toArray();
+        final double[] y = input.column("TIME").values().stream().mapToDouble(Double::doubleValue).toArray();
+        final FitterPolynomial sut = new FitterPolynomial();
+
+        // when
+        sut.init(x, y, 2);
+
+        // then
+        assertEquals(expected.toString(), sut.toString());
+        assertEquals(expected.getRSquareAdjusted(), sut.getRSquareAdjusted(), 1E-12);
+    }
 
     @Test
     public void init_PolynomialRegressionDataSecondDegree_CorrectPolynomial() {
@@ -0,0 +1,28 @@
+package sw_engineering_candies.assertBigO;
+
+import sw_engineering_candies.assertBigO.interfaces.BigOParameter;
+
+import java.util.List;
+
+@SuppressWarnings("UnusedReturnValue")
+public class InsertionSort {
+
+    public Long[] sort(@BigOParameter List<Long> unsorted) {
+
+        Long[] sorted = new Long[unsorted.size()];
+        sorted = unsorted.toArray(sorted);
+
+        // insert each element into the sorted part on the left
+        for (int i = 1; i < sorted.length; i++) {
+            final long current = sorted[i];
+            int j = i - 1;
+            while (j >= 0 && sorted[j] > current) {
+                sorted[j + 1] = sorted[j];
+                j--;
+            }
+            sorted[j + 1] = current;
+        }
+        return sorted;
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2013-2023, Markus Sprunck <sprunck.markus@gmail.com>
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ *
+ * - The name of its contributor may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package sw_engineering_candies.assertBigO;
+
+import org.junit.jupiter.api.Test;
+import sw_engineering_candies.assertBigO.math.RunningStatistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RunningStatisticsTest {
+
+    @Test
+    public void add_FourValues_CorrectMeanAndVariance() {
+        // given
+        final RunningStatistics statistics = new RunningStatistics();
+
+        // when
+        statistics.add(2.0);
+        statistics.add(4.0);
+        statistics.add(4.0);
+        statistics.add(6.0);
+
+        // then
+        assertEquals(4, statistics.getCount());
+        assertEquals(4.0, statistics.getMean(), 0.000000000001);
+        assertEquals(8.0 / 3.0, statistics.getVariance(), 0.000000000001);
+        assertEquals(Math.sqrt(8.0 / 3.0 / 4.0) / 4.0, statistics.getRelativeStandardError(), 0.000000000001);
+    }
+
+    @Test
+    public void getRelativeStandardError_OneValue_Infinite() {
+        // given
+        final RunningStatistics statistics = new RunningStatistics();
+
+        // when
+        statistics.add(2.0);
+
+        // then
+        assertEquals(0.0, statistics.getVariance());
+        assertEquals(Double.POSITIVE_INFINITY, statistics.getRelativeStandardError());
+    }
+
+}